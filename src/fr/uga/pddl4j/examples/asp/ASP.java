@@ -1,5 +1,17 @@
 package fr.uga.pddl4j.examples.asp;
 
+import fr.uga.pddl4j.exercise.util.BucketQueue;
+import fr.uga.pddl4j.exercise.util.CachedHeuristic;
+import fr.uga.pddl4j.exercise.util.ClosedList;
+import fr.uga.pddl4j.exercise.util.Deadline;
+import fr.uga.pddl4j.exercise.util.HeapClosedList;
+import fr.uga.pddl4j.exercise.util.HeuristicCache;
+import fr.uga.pddl4j.exercise.util.MappedClosedList;
+import fr.uga.pddl4j.exercise.util.MemoryMonitor;
+import fr.uga.pddl4j.exercise.util.MeteredHeuristic;
+import fr.uga.pddl4j.exercise.util.PlanOptimizer;
+import fr.uga.pddl4j.exercise.util.SearchMetrics;
+import fr.uga.pddl4j.exercise.util.SuccessorGenerator;
 import fr.uga.pddl4j.heuristics.state.StateHeuristic;
 import fr.uga.pddl4j.parser.DefaultParsedProblem;
 import fr.uga.pddl4j.parser.RequireKey;
@@ -9,8 +21,6 @@ import fr.uga.pddl4j.planners.AbstractPlanner;
 import fr.uga.pddl4j.planners.Planner;
 import fr.uga.pddl4j.planners.PlannerConfiguration;
 import fr.uga.pddl4j.planners.ProblemNotSupportedException;
-import fr.uga.pddl4j.planners.SearchStrategy;
-import fr.uga.pddl4j.planners.statespace.search.StateSpaceSearch;
 import fr.uga.pddl4j.problem.DefaultProblem;
 import fr.uga.pddl4j.problem.Problem;
 import fr.uga.pddl4j.problem.State;
@@ -20,11 +30,13 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import picocli.CommandLine;
 
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import javax.management.JMException;
 import java.util.Comparator;
-import java.util.HashSet;
 import java.util.List;
 import java.util.PriorityQueue;
-import java.util.Set;
+import java.util.Queue;
 
 /**
  * The class is an example. It shows how to create a simple A* search planner able to
@@ -96,6 +108,102 @@ public class ASP extends AbstractPlanner {
         this.heuristic = heuristic;
     }
 
+    /**
+     * Set the memory bound of the cache of the heuristic values. The sequential A* only evaluates the states that are
+     * not in its closed list, so it almost never hits the cache: the cache pays off with several threads, whose
+     * duplicates are evaluated by their senders, and in the IDA* fallback, whose table forgets states.
+     *
+     * @param heuristicCache the memory bound of the cache of the heuristic values in MB.
+     */
+    @CommandLine.Option(names = {"-hc", "--heuristicCache"}, defaultValue = "0",
+        paramLabel = "<heuristicCache>", description = "Set the memory bound of the cache of the heuristic values "
+            + "in MB, 0 to disable the cache. Only useful with several threads or the IDA* fallback, the sequential "
+            + "A* evaluating each state once (preset 0).")
+    public void setHeuristicCacheSize(final int heuristicCache) {
+        if (heuristicCache < 0) {
+            throw new IllegalArgumentException("HeuristicCache < 0");
+        }
+        this.heuristicCacheSize = heuristicCache;
+    }
+
+    /**
+     * Set whether the plans found are shortened by cutting their cycles and eliminating their redundant actions.
+     *
+     * @param optimizePlan whether the plans found are shortened.
+     */
+    @CommandLine.Option(names = {"-op", "--optimizePlan"}, defaultValue = "false", arity = "1",
+        paramLabel = "<optimizePlan>", description = "Shorten the plans found by cutting their cycles and "
+            + "eliminating their redundant actions (preset false).")
+    public void setOptimizePlan(final boolean optimizePlan) {
+        this.optimizePlan = optimizePlan;
+    }
+
+    /**
+     * Set the number of threads of the search. With more than one thread, the search is a hash-distributed A*.
+     *
+     * @param threads the number of threads of the search.
+     * @throws IllegalArgumentException if the number of threads is less than 1.
+     */
+    @CommandLine.Option(names = {"-th", "--threads"}, defaultValue = "1",
+        paramLabel = "<threads>", description = "Set the number of threads of the search, the states being "
+            + "distributed over the threads by their hash when greater than 1 (preset 1).")
+    public void setThreads(final int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Threads <= 0");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Set the directory where the closed list of the search is stored in memory-mapped files. The closed list is
+     * stored in the heap when the directory is empty.
+     *
+     * @param closedListDirectory the directory of the closed list or an empty string.
+     */
+    @CommandLine.Option(names = {"-cd", "--closedListDirectory"}, defaultValue = "",
+        paramLabel = "<closedListDirectory>", description = "Set the directory on a local disk where the closed list "
+            + "is stored in memory-mapped files when it does not fit in the heap, empty to keep it in the heap "
+            + "(preset empty).")
+    public void setClosedListDirectory(final String closedListDirectory) {
+        this.closedListDirectory = (closedListDirectory == null) ? "" : closedListDirectory;
+    }
+
+    /**
+     * Set the fraction of the heap used after a garbage collection above which the search falls back to a
+     * memory-bounded IDA* search. The heap is not monitored when the fraction is 0.
+     *
+     * @param memoryThreshold the fraction of the heap in [0, 1[.
+     * @throws IllegalArgumentException if the fraction is not in [0, 1[.
+     */
+    @CommandLine.Option(names = {"-mt", "--memoryThreshold"}, defaultValue = "0.0",
+        paramLabel = "<memoryThreshold>", description = "Set the fraction of the heap used after a garbage collection "
+            + "above which the search falls back to a memory-bounded IDA* search, 0 to disable the fallback "
+            + "(preset 0.0).")
+    public void setMemoryThreshold(final double memoryThreshold) {
+        if (memoryThreshold < 0.0 || memoryThreshold >= 1.0) {
+            throw new IllegalArgumentException("MemoryThreshold not in [0, 1[");
+        }
+        this.memoryThreshold = memoryThreshold;
+    }
+
+    /**
+     * Set the size of the bit array of the bitstate search. The search detects the duplicates with an exact closed
+     * list when the size is 0.
+     *
+     * @param bitstateSize the size of the bit array in MB.
+     * @throws IllegalArgumentException if the size is negative.
+     */
+    @CommandLine.Option(names = {"-bs", "--bitstateSize"}, defaultValue = "0",
+        paramLabel = "<bitstateSize>", description = "Set the size in MB of the off-heap bit array recording the "
+            + "states generated in bitstate mode, which loses completeness, 0 to use an exact closed list "
+            + "(preset 0).")
+    public void setBitstateSize(final int bitstateSize) {
+        if (bitstateSize < 0) {
+            throw new IllegalArgumentException("BitstateSize < 0");
+        }
+        this.bitstateSize = bitstateSize;
+    }
+
     /**
      * Returns the name of the heuristic used by the planner to solve a planning problem.
      *
@@ -114,6 +222,90 @@ public class ASP extends AbstractPlanner {
         return this.heuristicWeight;
     }
 
+    /**
+     * Returns the memory bound of the cache of the heuristic values in MB.
+     *
+     * @return the memory bound of the cache of the heuristic values in MB.
+     */
+    public final int getHeuristicCacheSize() {
+        return this.heuristicCacheSize;
+    }
+
+    /**
+     * Returns whether the plans found are shortened by cutting their cycles and eliminating their redundant actions.
+     *
+     * @return whether the plans found are shortened.
+     */
+    public final boolean isOptimizePlan() {
+        return this.optimizePlan;
+    }
+
+    /**
+     * Returns the number of threads of the search.
+     *
+     * @return the number of threads of the search.
+     */
+    public final int getThreads() {
+        return this.threads;
+    }
+
+    /**
+     * Returns the directory where the closed list of the search is stored in memory-mapped files.
+     *
+     * @return the directory of the closed list or an empty string if the closed list is stored in the heap.
+     */
+    public final String getClosedListDirectory() {
+        return this.closedListDirectory;
+    }
+
+    /**
+     * Returns the fraction of the heap used after a garbage collection above which the search falls back to a
+     * memory-bounded IDA* search.
+     *
+     * @return the fraction of the heap or 0 if the heap is not monitored.
+     */
+    public final double getMemoryThreshold() {
+        return this.memoryThreshold;
+    }
+
+    /**
+     * Returns the size of the bit array of the bitstate search.
+     *
+     * @return the size of the bit array in MB or 0 if the search uses an exact closed list.
+     */
+    public final int getBitstateSize() {
+        return this.bitstateSize;
+    }
+
+    /**
+     * Returns the deadline of the running search.
+     *
+     * @return the deadline of the running search or null if no search was started.
+     */
+    public final Deadline getDeadline() {
+        return this.deadline;
+    }
+
+    /**
+     * Returns the metrics of the running search, published as an MBean.
+     *
+     * @return the metrics of the running search or null if no search was started.
+     */
+    public final SearchMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Cancels the running search. The search stops at its next expansion and returns null. The method has no effect
+     * if no search is running.
+     */
+    public void cancel() {
+        final Deadline deadline = this.deadline;
+        if (deadline != null) {
+            deadline.cancel();
+        }
+    }
+
     /**
      * The weight of the heuristic.
      */
@@ -124,6 +316,46 @@ public class ASP extends AbstractPlanner {
      */
     private StateHeuristic.Name heuristic;
 
+    /**
+     * The memory bound of the cache of the heuristic values in MB.
+     */
+    private int heuristicCacheSize;
+
+    /**
+     * Whether the plans found are shortened by cutting their cycles and eliminating their redundant actions.
+     */
+    private boolean optimizePlan;
+
+    /**
+     * The number of threads of the search.
+     */
+    private int threads;
+
+    /**
+     * The directory of the closed list or an empty string if the closed list is stored in the heap.
+     */
+    private String closedListDirectory;
+
+    /**
+     * The fraction of the heap above which the search falls back to IDA* or 0 if the heap is not monitored.
+     */
+    private double memoryThreshold;
+
+    /**
+     * The size of the bit array of the bitstate search in MB or 0 if the search uses an exact closed list.
+     */
+    private int bitstateSize;
+
+    /**
+     * The deadline of the running search or null if no search was started.
+     */
+    private transient volatile Deadline deadline;
+
+    /**
+     * The metrics of the running search or null if no search was started.
+     */
+    private transient volatile SearchMetrics metrics;
+
     /**
      * The HEURISTIC property used for planner configuration.
      */
@@ -144,6 +376,71 @@ public class ASP extends AbstractPlanner {
      */
     public static final double DEFAULT_WEIGHT_HEURISTIC = 1.0;
 
+    /**
+     * The highest weight of the heuristic for which the open list is a bucket queue.
+     */
+    public static final double MAX_BUCKET_WEIGHT = 16.0;
+
+    /**
+     * The HEURISTIC_CACHE property used for planner configuration.
+     */
+    public static final String HEURISTIC_CACHE_SETTING = "HEURISTIC_CACHE";
+
+    /**
+     * The default value of the HEURISTIC_CACHE property used for planner configuration.
+     */
+    public static final int DEFAULT_HEURISTIC_CACHE = 0;
+
+    /**
+     * The OPTIMIZE_PLAN property used for planner configuration.
+     */
+    public static final String OPTIMIZE_PLAN_SETTING = "OPTIMIZE_PLAN";
+
+    /**
+     * The default value of the OPTIMIZE_PLAN property used for planner configuration.
+     */
+    public static final boolean DEFAULT_OPTIMIZE_PLAN = false;
+
+    /**
+     * The THREADS setting used for planner configuration.
+     */
+    public static final String THREADS_SETTING = "THREADS";
+
+    /**
+     * The default value of the THREADS setting used for planner configuration.
+     */
+    public static final int DEFAULT_THREADS = 1;
+
+    /**
+     * The CLOSED_LIST_DIRECTORY setting used for planner configuration.
+     */
+    public static final String CLOSED_LIST_DIRECTORY_SETTING = "CLOSED_LIST_DIRECTORY";
+
+    /**
+     * The default value of the CLOSED_LIST_DIRECTORY setting used for planner configuration.
+     */
+    public static final String DEFAULT_CLOSED_LIST_DIRECTORY = "";
+
+    /**
+     * The MEMORY_THRESHOLD setting used for planner configuration.
+     */
+    public static final String MEMORY_THRESHOLD_SETTING = "MEMORY_THRESHOLD";
+
+    /**
+     * The default value of the MEMORY_THRESHOLD setting used for planner configuration.
+     */
+    public static final double DEFAULT_MEMORY_THRESHOLD = 0.0;
+
+    /**
+     * The BITSTATE_SIZE setting used for planner configuration.
+     */
+    public static final String BITSTATE_SIZE_SETTING = "BITSTATE_SIZE";
+
+    /**
+     * The default value of the BITSTATE_SIZE setting used for planner configuration.
+     */
+    public static final int DEFAULT_BITSTATE_SIZE = 0;
+
     /**
      * Instantiates the planning problem from a parsed problem.
      *
@@ -165,19 +462,29 @@ public class ASP extends AbstractPlanner {
      */
     @Override
     public Plan solve(final Problem problem) throws ProblemNotSupportedException{
-        // Creates the A* search strategy
-        StateSpaceSearch search = StateSpaceSearch.getInstance(SearchStrategy.Name.ASTAR,
-            this.getHeuristic(), this.getHeuristicWeight(), this.getTimeout());
         LOGGER.info("* Starting A* search \n");
         // Search a solution
         final long begin = System.currentTimeMillis();
-        final Plan plan = this.astar(problem);
+        Plan plan;
+        if (this.getBitstateSize() > 0) {
+            plan = this.bitstate(problem);
+        } else {
+            plan = (this.getThreads() > 1) ? this.hdastar(problem) : this.astar(problem);
+        }
+        if (plan != null && this.isOptimizePlan()) {
+            final int length = plan.size();
+            plan = new PlanOptimizer(problem).optimize(plan);
+            LOGGER.info("* Plan optimized from " + length + " to " + plan.size() + " actions\n");
+        }
         final long end = System.currentTimeMillis();
+        if (this.metrics != null) {
+            LOGGER.info("* Search metrics: " + this.metrics + "\n");
+        }
         // If a plan is found update the statistics of the planner and log search information
         if (plan != null) {
             LOGGER.info("* A* search succeeded\n");
             this.getStatistics().setTimeToSearch(end - begin);
-            this.getStatistics().setMemoryUsedToSearch(search.getMemoryUsed());
+            this.getStatistics().setMemoryUsedToSearch(this.metrics.getMemoryUsed());
         } else {
             LOGGER.info("* A* search failed\n");
         }
@@ -238,92 +545,344 @@ public class ASP extends AbstractPlanner {
             throw new ProblemNotSupportedException("Problem not supported");
         }
 
-        // First we create an instance of the heuristic to use to guide the search
-        final StateHeuristic heuristic = StateHeuristic.getInstance(this.getHeuristic(), problem);
+        // We start the deadline of the search from the timeout in s. An expansion evaluates all the successors of a
+        // node, so the clock is read at each expansion
+        final Deadline deadline = new Deadline(this.getTimeout() * 1000L, 1);
+        this.deadline = deadline;
+        final SearchMetrics metrics = this.startMetrics();
+
+        // First we create an instance of the heuristic to use to guide the search, decorated with a cache of the
+        // heuristic values if requested
+        final HeuristicCache cache = this.createHeuristicCache();
+        final StateHeuristic heuristic = this.getHeuristicInstance(problem, cache);
+
+        // We build the successor generator used to find the actions applicable in a node
+        final SuccessorGenerator generator = new SuccessorGenerator(problem.getActions());
+        final int[] applicable = new int[generator.size()];
 
         // We get the initial state from the planning problem
         final State init = new State(problem.getInitialState());
 
-        // We initialize the closed list of nodes (store the nodes explored)
-        final Set<Node> close = new HashSet<>();
+        // We initialize the closed list of nodes (store the states generated packed in primitive arrays with their
+        // best cost, the index of their parent and their action, so the closed nodes themselves are not kept and the
+        // duplicates are detected as soon as they are generated)
+        ClosedList close = this.createClosedList(problem);
 
         // We initialize the opened list to store the pending node according to function f
-        final double weight = this.getHeuristicWeight();
-        final PriorityQueue<Node> open = new PriorityQueue<>(100, new Comparator<Node>() {
-            public int compare(Node n1, Node n2) {
-                double f1 = weight * n1.getHeuristic() + n1.getCost();
-                double f2 = weight * n2.getHeuristic() + n2.getCost();
-                return Double.compare(f1, f2);
-            }
-        });
+        final Queue<Node> open = this.createOpenList();
 
         // We create the root node of the tree search
         final Node root = new Node(init, null, -1, 0, heuristic.estimate(init, problem.getGoal()));
+        root.setIndex(close.add(root, 0, ClosedList.NONE, -1));
 
-        // We add the root to the list of pending nodes
-        open.add(root);
+        // We add the root to the list of pending nodes, unless the goal cannot be reached from it
+        if (root.getHeuristic() != Integer.MAX_VALUE) {
+            open.add(root);
+        }
+        metrics.setSizes(open::size, close::size);
         Plan plan = null;
 
-        // We set the timeout in ms allocated to the search
-        final int timeout = this.getTimeout() * 1000;
-        long time = 0;
+        // We count the expanded nodes, the stale nodes skipped and the closed nodes reopened
+        long expanded = 0;
+        long skipped = 0;
+        long reopened = 0;
+
+        // We watch the heap if requested, and keep the f-value of the last node expanded as the first bound of the
+        // IDA* search run if the heap comes under pressure
+        final MemoryMonitor monitor = this.startMemoryMonitor();
+        double lastF = 0.0;
 
         // We start the search
-        while (!open.isEmpty() && plan == null && time < timeout) {
+        while (!open.isEmpty() && plan == null && !deadline.poll()
+            && (monitor == null || !monitor.isUnderPressure())) {
 
-            // We pop the first node in the pending list open
+            // We pop the first node in the pending list open and skip it if its state was expanded or reached by a
+            // cheaper path since it was pushed (the nodes replaced by a cheaper path are left in open)
             final Node current = open.poll();
-            close.add(current);
+            final int index = current.getIndex();
+            if (close.isClosed(index) || current.getCost() > close.getCost(index)) {
+                skipped++;
+                continue;
+            }
+            close.close(index);
+            expanded++;
+            metrics.expanded();
+            lastF = current.getValueF(this.getHeuristicWeight());
 
             // If the goal is satisfied in the current node then extract the search and return it
             if (current.satisfy(problem.getGoal())) {
-                return this.extractPlan(current, problem);
-            } else { // Else we try to apply the actions of the problem to the current node
-                for (int i = 0; i < problem.getActions().size(); i++) {
-                    // We get the actions of the problem
+                plan = this.extractPlan(index, close, problem);
+            } else { // Else we try to apply the actions applicable in the current node
+                final long scan = System.nanoTime();
+                final int size = generator.applicableActions(current, applicable);
+                metrics.scanned(1, 1, System.nanoTime() - scan);
+                metrics.generated(size);
+                for (int j = 0; j < size; j++) {
+                    // We get the applicable actions of the problem
+                    final int i = applicable[j];
                     Action a = problem.getActions().get(i);
-                    // If the action is applicable in the current node
-                    if (a.isApplicable(current)) {
-                        Node next = new Node(current);
-                        // We apply the effect of the action
-                        final List<ConditionalEffect> effects = a.getConditionalEffects();
-                        for (ConditionalEffect ce : effects) {
-                            if (current.satisfy(ce.getCondition())) {
-                                next.apply(ce.getEffect());
-                            }
+                    Node next = new Node(current);
+                    // We apply the effect of the action
+                    final List<ConditionalEffect> effects = a.getConditionalEffects();
+                    for (ConditionalEffect ce : effects) {
+                        if (current.satisfy(ce.getCondition())) {
+                            next.apply(ce.getEffect());
+                        }
+                    }
+                    // We set the new child node information if its state is new or reached by a cheaper path, and
+                    // reopen it if it was already expanded. The state is added and looked for in a single probe, the
+                    // list only growing if the state is new
+                    final int g = (int) current.getCost() + 1;
+                    final int before = close.size();
+                    final int known = close.add(next, g, index, i);
+                    if (close.size() == before) {
+                        if (g >= close.getCost(known)) {
+                            continue;
                         }
-                        // We set the new child node information
-                        final double g = current.getCost() + 1;
-                        if (!close.contains(next)) {
-                            next.setCost(g);
-                            next.setParent(current);
-                            next.setAction(i);
-                            next.setHeuristic(heuristic.estimate(next, problem.getGoal()));
-                            open.add(next);
+                        if (close.isClosed(known)) {
+                            reopened++;
                         }
+                        close.update(known, g, index, i);
+                    }
+                    next.setIndex(known);
+                    next.setCost(g);
+                    next.setAction(i);
+                    next.setHeuristic(heuristic.estimate(next, problem.getGoal()));
+                    // We prune the nodes from which the goal cannot be reached even in the relaxed problem
+                    if (next.getHeuristic() != Integer.MAX_VALUE) {
+                        open.add(next);
                     }
                 }
             }
         }
 
+        if (plan == null && deadline.isExpired()) {
+            LOGGER.info("* A* search " + deadline + "\n");
+        }
+        LOGGER.info("* A* search expanded " + expanded + " nodes, skipped " + skipped + " stale nodes and reopened "
+            + reopened + " nodes\n");
+        LOGGER.info("* Closed list: " + close + "\n");
+        metrics.setMemoryUsed(close.getMemoryUsed());
+        metrics.freezeSizes();
+        close.release();
+
+        // If the heap came under pressure, we drop the lists of A* and fall back to IDA* from the root
+        if (monitor != null) {
+            monitor.close();
+            if (plan == null && monitor.isUnderPressure() && !deadline.isExpired()) {
+                LOGGER.info("* Heap under pressure (" + monitor + "), falling back to IDA*\n");
+                open.clear();
+                close = null;
+                plan = this.idastar(problem, deadline, cache, lastF);
+            }
+        }
+        if (cache != null) {
+            LOGGER.info("* Heuristic cache: " + cache + "\n");
+        }
+
         // Finally, we return the search computed or null if no search was found
         return plan;
     }
 
     /**
-     * Extracts a search from a specified node.
+     * Search a solution plan for a planning problem using a hash-distributed A* search strategy over the threads of
+     * the planner.
+     *
+     * @param problem the problem to solve.
+     * @return a plan solution for the problem or null if there is no solution
+     * @throws ProblemNotSupportedException if the problem to solve is not supported by the planner.
+     * @see HDAStarSearch
+     */
+    public Plan hdastar(Problem problem) throws ProblemNotSupportedException {
+        // Check if the problem is supported by the planner
+        if (!this.isSupported(problem)) {
+            throw new ProblemNotSupportedException("Problem not supported");
+        }
+
+        // We start the deadline of the search from the timeout in s, polled by all the threads at each expansion
+        final Deadline deadline = new Deadline(this.getTimeout() * 1000L, 1);
+        this.deadline = deadline;
+        final SearchMetrics metrics = this.startMetrics();
+
+        // The cache of the heuristic values is shared by the threads, each one with its own instance of the heuristic
+        final HeuristicCache cache = this.createHeuristicCache();
+        final MemoryMonitor monitor = this.startMemoryMonitor();
+        Plan plan = new HDAStarSearch(this, problem, cache).search(deadline, monitor);
+        if (plan == null && deadline.isExpired()) {
+            LOGGER.info("* HDA* search " + deadline + "\n");
+        }
+
+        // If the heap came under pressure, we fall back to IDA* from the root, the lists of the threads being dropped
+        if (monitor != null) {
+            monitor.close();
+            if (plan == null && monitor.isUnderPressure() && !deadline.isExpired()) {
+                LOGGER.info("* Heap under pressure (" + monitor + "), falling back to IDA*\n");
+                plan = this.idastar(problem, deadline, cache, 0.0);
+            }
+        }
+        if (cache != null) {
+            LOGGER.info("* Heuristic cache: " + cache + "\n");
+        }
+        return plan;
+    }
+
+    /**
+     * Search a solution plan for a planning problem using a best-first search detecting the duplicates with a
+     * bitstate set. The search is neither complete nor optimal.
+     *
+     * @param problem the problem to solve.
+     * @return a plan solution for the problem or null if no plan was found.
+     * @throws ProblemNotSupportedException if the problem to solve is not supported by the planner.
+     * @see BitstateSearch
+     */
+    public Plan bitstate(Problem problem) throws ProblemNotSupportedException {
+        // Check if the problem is supported by the planner
+        if (!this.isSupported(problem)) {
+            throw new ProblemNotSupportedException("Problem not supported");
+        }
+
+        // We start the deadline of the search from the timeout in s, polled at each expansion
+        final Deadline deadline = new Deadline(this.getTimeout() * 1000L, 1);
+        this.deadline = deadline;
+        final SearchMetrics metrics = this.startMetrics();
+
+        final HeuristicCache cache = this.createHeuristicCache();
+        final Plan plan = new BitstateSearch(this, problem, cache, this.getBitstateSize() * 1024L * 1024L)
+            .search(deadline);
+        if (cache != null) {
+            LOGGER.info("* Heuristic cache: " + cache + "\n");
+        }
+        return plan;
+    }
+
+    /**
+     * Search a solution plan for a planning problem using an IDA* search strategy with a transposition table sized
+     * from the free heap. This search is the fallback of A* and HDA* when the heap is under pressure.
+     *
+     * @param problem  the problem to solve.
+     * @param deadline the deadline of the search.
+     * @param cache    the cache of the heuristic values or null.
+     * @param bound    a lower bound of the f-value of the plans.
+     * @return a plan solution for the problem or null if no plan was found.
+     * @see IDAStarSearch
+     */
+    private Plan idastar(final Problem problem, final Deadline deadline, final HeuristicCache cache,
+                         final double bound) {
+        // We give a quarter of the free heap to the table, a slot taking 16 bytes
+        final Runtime runtime = Runtime.getRuntime();
+        final long free = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        final int capacity = (int) Math.max(1L << 16, Math.min(1L << 26, free / 4 / 16));
+        final Plan plan = new IDAStarSearch(this, problem, cache, capacity).search(deadline, bound);
+        if (plan == null && deadline.isExpired()) {
+            LOGGER.info("* IDA* search " + deadline + "\n");
+        }
+        return plan;
+    }
+
+    /**
+     * Creates the metrics of a new search and publishes them as an MBean, replacing the metrics of the previous
+     * search. The search runs unmeasured by JMX if the metrics cannot be published.
+     *
+     * @return the metrics of the new search.
+     */
+    private SearchMetrics startMetrics() {
+        final SearchMetrics metrics = new SearchMetrics(ASP.class.getSimpleName());
+        try {
+            metrics.register();
+        } catch (JMException | SecurityException e) {
+            LOGGER.info("* Search metrics not published: " + e.getMessage() + "\n");
+        }
+        this.metrics = metrics;
+        return metrics;
+    }
+
+    /**
+     * Starts the monitor of the heap if a memory threshold is set.
+     *
+     * @return the monitor of the heap or null if the heap is not monitored.
+     */
+    private MemoryMonitor startMemoryMonitor() {
+        if (this.getMemoryThreshold() == 0.0) {
+            return null;
+        }
+        final MemoryMonitor monitor = new MemoryMonitor(this.getMemoryThreshold());
+        if (!monitor.isActive()) {
+            LOGGER.info("* No tenured heap memory pool found, the heap is not monitored\n");
+        }
+        return monitor;
+    }
+
+    /**
+     * Creates the cache of the heuristic values of the planner.
+     *
+     * @return the cache of the heuristic values or null if the cache is disabled.
+     */
+    private HeuristicCache createHeuristicCache() {
+        return (this.getHeuristicCacheSize() > 0)
+            ? new HeuristicCache(this.getHeuristicCacheSize() * 1024L * 1024L) : null;
+    }
+
+    /**
+     * Creates a new instance of the heuristic of the planner, decorated with a cache of the heuristic values if one
+     * is given, and counted in the metrics of the running search. A heuristic instance is not thread-safe, so each
+     * thread of a search must get its own instance.
+     *
+     * @param problem the problem to solve.
+     * @param cache   the cache of the heuristic values or null.
+     * @return a new instance of the heuristic.
+     */
+    StateHeuristic getHeuristicInstance(final Problem problem, final HeuristicCache cache) {
+        final StateHeuristic heuristic = (cache == null)
+            ? StateHeuristic.getInstance(this.getHeuristic(), problem)
+            : new CachedHeuristic(StateHeuristic.getInstance(this.getHeuristic(), problem), cache);
+        return (this.metrics == null) ? heuristic : new MeteredHeuristic(heuristic, this.metrics);
+    }
+
+    /**
+     * Creates an empty closed list, stored in memory-mapped files if a directory is set and in the heap otherwise.
+     *
+     * @param problem the problem to solve.
+     * @return an empty closed list.
+     */
+    ClosedList createClosedList(final Problem problem) {
+        final int facts = problem.getFluents().size();
+        return this.getClosedListDirectory().isEmpty() ? new HeapClosedList(facts)
+            : new MappedClosedList(facts, Paths.get(this.getClosedListDirectory()));
+    }
+
+    /**
+     * Creates an empty open list ordering the nodes by function f, the ties being broken in favor of the lowest
+     * heuristic value. All the actions cost 1 and the heuristic values are integers, so f is an integer when the
+     * weight is an integer, and the nodes are then stored in buckets indexed by f. The buckets are only used up to a
+     * weight of <code>MAX_BUCKET_WEIGHT</code>, since the number of buckets grows with the weight.
+     *
+     * @return an empty open list.
+     */
+    Queue<Node> createOpenList() {
+        final double weight = this.getHeuristicWeight();
+        if (weight == Math.rint(weight) && weight <= ASP.MAX_BUCKET_WEIGHT) {
+            return new BucketQueue<Node>(n -> (int) n.getValueF(weight), n -> (int) n.getHeuristic());
+        }
+        return new PriorityQueue<>(100, new Comparator<Node>() {
+            public int compare(Node n1, Node n2) {
+                final int cmp = Double.compare(n1.getValueF(weight), n2.getValueF(weight));
+                return (cmp != 0) ? cmp : Double.compare(n1.getHeuristic(), n2.getHeuristic());
+            }
+        });
+    }
+
+    /**
+     * Extracts a search from a specified state by following its parents in the closed list.
      *
-     * @param node    the node.
+     * @param index   the index of the state in the closed list.
+     * @param close   the closed list of the search.
      * @param problem the problem.
-     * @return the search extracted from the specified node.
+     * @return the search extracted from the specified state.
      */
-    private Plan extractPlan(final Node node, final Problem problem) {
-        Node n = node;
+    private Plan extractPlan(final int index, final ClosedList close, final Problem problem) {
         final Plan plan = new SequentialPlan();
-        while (n.getAction() != -1) {
-            final Action a = problem.getActions().get(n.getAction());
-            plan.add(0, a);
-            n = n.getParent();
+        for (int n = index; close.getParent(n) != ClosedList.NONE; n = close.getParent(n)) {
+            plan.add(0, problem.getActions().get(close.getAction(n)));
         }
         return plan;
     }
@@ -338,6 +897,12 @@ public class ASP extends AbstractPlanner {
         final PlannerConfiguration config = super.getConfiguration();
         config.setProperty(ASP.HEURISTIC_SETTING, this.getHeuristic().toString());
         config.setProperty(ASP.WEIGHT_HEURISTIC_SETTING, Double.toString(this.getHeuristicWeight()));
+        config.setProperty(ASP.HEURISTIC_CACHE_SETTING, Integer.toString(this.getHeuristicCacheSize()));
+        config.setProperty(ASP.OPTIMIZE_PLAN_SETTING, Boolean.toString(this.isOptimizePlan()));
+        config.setProperty(ASP.THREADS_SETTING, Integer.toString(this.getThreads()));
+        config.setProperty(ASP.CLOSED_LIST_DIRECTORY_SETTING, this.getClosedListDirectory());
+        config.setProperty(ASP.MEMORY_THRESHOLD_SETTING, Double.toString(this.getMemoryThreshold()));
+        config.setProperty(ASP.BITSTATE_SIZE_SETTING, Integer.toString(this.getBitstateSize()));
         return config;
     }
 
@@ -362,6 +927,41 @@ public class ASP extends AbstractPlanner {
             this.setHeuristic(StateHeuristic.Name.valueOf(configuration.getProperty(
                 ASP.HEURISTIC_SETTING)));
         }
+        if (configuration.getProperty(ASP.HEURISTIC_CACHE_SETTING) == null) {
+            this.setHeuristicCacheSize(ASP.DEFAULT_HEURISTIC_CACHE);
+        } else {
+            this.setHeuristicCacheSize(Integer.parseInt(configuration.getProperty(
+                ASP.HEURISTIC_CACHE_SETTING)));
+        }
+        if (configuration.getProperty(ASP.OPTIMIZE_PLAN_SETTING) == null) {
+            this.setOptimizePlan(ASP.DEFAULT_OPTIMIZE_PLAN);
+        } else {
+            this.setOptimizePlan(Boolean.parseBoolean(configuration.getProperty(
+                ASP.OPTIMIZE_PLAN_SETTING)));
+        }
+        if (configuration.getProperty(ASP.THREADS_SETTING) == null) {
+            this.setThreads(ASP.DEFAULT_THREADS);
+        } else {
+            this.setThreads(Integer.parseInt(configuration.getProperty(
+                ASP.THREADS_SETTING)));
+        }
+        if (configuration.getProperty(ASP.CLOSED_LIST_DIRECTORY_SETTING) == null) {
+            this.setClosedListDirectory(ASP.DEFAULT_CLOSED_LIST_DIRECTORY);
+        } else {
+            this.setClosedListDirectory(configuration.getProperty(ASP.CLOSED_LIST_DIRECTORY_SETTING));
+        }
+        if (configuration.getProperty(ASP.MEMORY_THRESHOLD_SETTING) == null) {
+            this.setMemoryThreshold(ASP.DEFAULT_MEMORY_THRESHOLD);
+        } else {
+            this.setMemoryThreshold(Double.parseDouble(configuration.getProperty(
+                ASP.MEMORY_THRESHOLD_SETTING)));
+        }
+        if (configuration.getProperty(ASP.BITSTATE_SIZE_SETTING) == null) {
+            this.setBitstateSize(ASP.DEFAULT_BITSTATE_SIZE);
+        } else {
+            this.setBitstateSize(Integer.parseInt(configuration.getProperty(
+                ASP.BITSTATE_SIZE_SETTING)));
+        }
     }
 
     /**
@@ -374,6 +974,12 @@ public class ASP extends AbstractPlanner {
         PlannerConfiguration config = Planner.getDefaultConfiguration();
         config.setProperty(ASP.HEURISTIC_SETTING, ASP.DEFAULT_HEURISTIC.toString());
         config.setProperty(ASP.WEIGHT_HEURISTIC_SETTING, Double.toString(ASP.DEFAULT_WEIGHT_HEURISTIC));
+        config.setProperty(ASP.HEURISTIC_CACHE_SETTING, Integer.toString(ASP.DEFAULT_HEURISTIC_CACHE));
+        config.setProperty(ASP.OPTIMIZE_PLAN_SETTING, Boolean.toString(ASP.DEFAULT_OPTIMIZE_PLAN));
+        config.setProperty(ASP.THREADS_SETTING, Integer.toString(ASP.DEFAULT_THREADS));
+        config.setProperty(ASP.CLOSED_LIST_DIRECTORY_SETTING, ASP.DEFAULT_CLOSED_LIST_DIRECTORY);
+        config.setProperty(ASP.MEMORY_THRESHOLD_SETTING, Double.toString(ASP.DEFAULT_MEMORY_THRESHOLD));
+        config.setProperty(ASP.BITSTATE_SIZE_SETTING, Integer.toString(ASP.DEFAULT_BITSTATE_SIZE));
         return config;
     }
 
@@ -381,13 +987,23 @@ public class ASP extends AbstractPlanner {
      * Checks the planner configuration and returns if the configuration is valid.
      * A configuration is valid if (1) the domain and the problem files exist and
      * can be read, (2) the timeout is greater than 0, (3) the weight of the
-     * heuristic is greater than 0 and (4) the heuristic is a not null.
+     * heuristic is greater than 0, (4) the heuristic is a not null, (5) the
+     * memory bound of the heuristic cache is positive, (6) the number of threads is greater than 0, (7) the
+     * directory of the closed list is empty or an existing directory, (8) the memory threshold is in [0, 1[ and
+     * (9) the size of the bit array of the bitstate search is positive.
      *
      * @return <code>true</code> if the configuration is valid <code>false</code> otherwise.
      */
     public boolean hasValidConfiguration() {
         return super.hasValidConfiguration()
             && this.getHeuristicWeight() > 0.0
-            && this.getHeuristic() != null;
+            && this.getHeuristic() != null
+            && this.getHeuristicCacheSize() >= 0
+            && this.getThreads() > 0
+            && (this.getClosedListDirectory().isEmpty()
+                || Files.isDirectory(Paths.get(this.getClosedListDirectory())))
+            && this.getMemoryThreshold() >= 0.0
+            && this.getMemoryThreshold() < 1.0
+            && this.getBitstateSize() >= 0;
     }
 }
\ No newline at end of file
@@ -0,0 +1,171 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.exercise.util.BitstateSet;
+import fr.uga.pddl4j.exercise.util.Deadline;
+import fr.uga.pddl4j.exercise.util.HeuristicCache;
+import fr.uga.pddl4j.exercise.util.SearchMetrics;
+import fr.uga.pddl4j.exercise.util.SuccessorGenerator;
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.plan.SequentialPlan;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * This class implements a best-first search detecting the duplicates with a bitstate set, for the exploratory runs of
+ * ASP on search spaces too large for an exact closed list. A state generated is pushed in the open list only if the
+ * bitstate set reports it as new, so each state is expanded at most once and a few bits are kept by state, but the
+ * states confused with the states already generated are lost: the search is neither complete nor optimal, even with a
+ * weight of 1.
+ *
+ * <p>The bitstate set holds no back-pointers, so the nodes keep a reference to their parent and the plan is extracted
+ * from the nodes. A node only stays in the heap while one of its descendants is in the open list.</p>
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ * @see BitstateSet
+ */
+public final class BitstateSearch {
+
+    /**
+     * The class logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(BitstateSearch.class.getName());
+
+    /**
+     * The number of bits set by state.
+     */
+    public static final int HASHES = 3;
+
+    /**
+     * The planner that runs this search.
+     */
+    private final ASP planner;
+
+    /**
+     * The problem to solve.
+     */
+    private final Problem problem;
+
+    /**
+     * The goal of the problem.
+     */
+    private final Condition goal;
+
+    /**
+     * The actions available from the problem.
+     */
+    private final List<Action> actions;
+
+    /**
+     * The instance of the heuristic of the search.
+     */
+    private final StateHeuristic heuristic;
+
+    /**
+     * The bitstate set of the states generated.
+     */
+    private final BitstateSet visited;
+
+    /**
+     * Creates a new bitstate search.
+     *
+     * @param planner the planner that runs this search.
+     * @param problem the problem to solve.
+     * @param cache   the cache of the heuristic values or null.
+     * @param bytes   the size of the bit array in bytes.
+     */
+    public BitstateSearch(ASP planner, Problem problem, HeuristicCache cache, long bytes) {
+        this.planner = planner;
+        this.problem = problem;
+        this.goal = problem.getGoal();
+        this.actions = problem.getActions();
+        this.heuristic = planner.getHeuristicInstance(problem, cache);
+        this.visited = new BitstateSet(bytes, BitstateSearch.HASHES);
+    }
+
+    /**
+     * Search a solution plan until the goal is reached, the open list is empty or the deadline is expired.
+     *
+     * @param deadline the deadline of the search, polled at each expansion.
+     * @return a plan solution for the problem or null if no plan was found.
+     */
+    public Plan search(Deadline deadline) {
+        final SuccessorGenerator generator = new SuccessorGenerator(this.actions);
+        final int[] applicable = new int[generator.size()];
+        final Queue<Node> open = this.planner.createOpenList();
+
+        final State init = new State(this.problem.getInitialState());
+        final Node root = new Node(init, null, -1, 0, this.heuristic.estimate(init, this.goal));
+        this.visited.add(root);
+        if (root.getHeuristic() != Integer.MAX_VALUE) {
+            open.add(root);
+        }
+
+        final SearchMetrics metrics = this.planner.getMetrics();
+        metrics.setSizes(open::size, this.visited::size);
+        metrics.setMemoryUsed(this.visited.getBits() / 8);
+
+        Plan plan = null;
+        long expanded = 0;
+        while (!open.isEmpty() && plan == null && !deadline.poll()) {
+            final Node current = open.poll();
+            expanded++;
+            metrics.expanded();
+            if (current.satisfy(this.goal)) {
+                plan = this.extractPlan(current);
+            } else {
+                final long scan = System.nanoTime();
+                final int size = generator.applicableActions(current, applicable);
+                metrics.scanned(1, 1, System.nanoTime() - scan);
+                metrics.generated(size);
+                for (int j = 0; j < size; j++) {
+                    final int i = applicable[j];
+                    final Node next = new Node(current, current, i, current.getCost() + 1, 0);
+                    for (ConditionalEffect ce : this.actions.get(i).getConditionalEffects()) {
+                        if (current.satisfy(ce.getCondition())) {
+                            next.apply(ce.getEffect());
+                        }
+                    }
+                    // We only evaluate the states reported as new by the bitstate set
+                    if (this.visited.add(next)) {
+                        next.setHeuristic(this.heuristic.estimate(next, this.goal));
+                        if (next.getHeuristic() != Integer.MAX_VALUE) {
+                            open.add(next);
+                        }
+                    }
+                }
+            }
+        }
+
+        if (plan == null && deadline.isExpired()) {
+            LOGGER.info("* Bitstate search " + deadline + "\n");
+        }
+        LOGGER.info("* Bitstate search expanded " + expanded + " nodes\n");
+        LOGGER.info("* Bitstate set: " + this.visited + "\n");
+        metrics.freezeSizes();
+        return plan;
+    }
+
+    /**
+     * Extracts a plan from a node by following its parents.
+     *
+     * @param node the node.
+     * @return the plan extracted from the node.
+     */
+    private Plan extractPlan(final Node node) {
+        final Plan plan = new SequentialPlan();
+        for (Node n = node; n.getParent() != null; n = n.getParent()) {
+            plan.add(0, this.actions.get(n.getAction()));
+        }
+        return plan;
+    }
+}
@@ -0,0 +1,601 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.exercise.util.ClosedList;
+import fr.uga.pddl4j.exercise.util.Deadline;
+import fr.uga.pddl4j.exercise.util.HeuristicCache;
+import fr.uga.pddl4j.exercise.util.MemoryMonitor;
+import fr.uga.pddl4j.exercise.util.SearchMetrics;
+import fr.uga.pddl4j.exercise.util.SuccessorGenerator;
+import fr.uga.pddl4j.exercise.util.ZobristHash;
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.plan.SequentialPlan;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class implements a hash-distributed A* search (HDA*). Each thread owns the states whose Zobrist hash falls in
+ * its partition of the state space, and keeps its own open list, closed list and instance of the heuristic. A thread
+ * expands its own nodes only: the children owned by another thread are sent to the inbox of their owner, a lock-free
+ * queue, and their owner detects the duplicates.
+ *
+ * <p>The heuristic values of the children sent are computed by the sender, so the costly work of a thread follows
+ * its own expansions and a thread never falls behind the others on the evaluation of its inbox. The duplicates sent
+ * are thus evaluated too, which the shared cache of the heuristic values mitigates. The children kept by their
+ * sender are only evaluated when they are not duplicates.</p>
+ *
+ * <p>The search ends when no thread has a node to expand and no node is in transit. A single counter holds the
+ * number of busy threads plus the number of nodes in transit: a node is counted when it is sent, its count is passed
+ * to its receiver if the receiver was idle, and a thread is uncounted when its open list is empty. The counter only
+ * rises from a busy thread, so once it reaches 0 it stays 0 and all the threads stop.</p>
+ *
+ * <p>When the weight of the heuristic is 1, the first goal expanded is only an incumbent: the threads keep expanding
+ * the nodes whose f-value is lower than the cost of the incumbent, and prune the others, until the search ends. The
+ * plan returned is then optimal when the heuristic is admissible, as the plan of a sequential A*. With any other
+ * weight, the search stops at the first goal expanded.</p>
+ *
+ * <p>The parents of the states are recorded in the closed lists of their owners, as a global index that gives both
+ * the thread and the index of the state in its closed list, and the plan is extracted once all the threads are
+ * stopped. The global indexes are ints, so the search stops with an exception when the states of the closed lists
+ * no longer fit, about <code>2^31 / threads</code> states per thread.</p>
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public final class HDAStarSearch {
+
+    /**
+     * The class logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(HDAStarSearch.class.getName());
+
+    /**
+     * The planner that runs this search.
+     */
+    private final ASP planner;
+
+    /**
+     * The problem to solve.
+     */
+    private final Problem problem;
+
+    /**
+     * The goal of the problem.
+     */
+    private final Condition goal;
+
+    /**
+     * The actions available from the problem.
+     */
+    private final List<Action> actions;
+
+    /**
+     * The cache of the heuristic values shared by the threads or null.
+     */
+    private final HeuristicCache cache;
+
+    /**
+     * The hash of the states used to assign each state to its owner.
+     */
+    private final ZobristHash zobrist;
+
+    /**
+     * Whether the search must prove the optimality of the plan found, i.e., whether the weight of the heuristic is 1.
+     */
+    private final boolean optimal;
+
+    /**
+     * The number of busy threads plus the number of nodes in transit.
+     */
+    private final AtomicLong work;
+
+    /**
+     * The best goal expanded, its cost in the high 32 bits and its global index in the low 32 bits, or
+     * <code>Long.MAX_VALUE</code> if no goal was expanded.
+     */
+    private final AtomicLong incumbent;
+
+    /**
+     * The workers of the search, one by thread.
+     */
+    private Worker[] workers;
+
+    /**
+     * The deadline of the search.
+     */
+    private Deadline deadline;
+
+    /**
+     * The monitor of the heap or null if the heap is not monitored.
+     */
+    private MemoryMonitor monitor;
+
+    /**
+     * Whether the search is over.
+     */
+    private volatile boolean done;
+
+    /**
+     * Creates a new hash-distributed A* search.
+     *
+     * @param planner the planner that runs this search.
+     * @param problem the problem to solve.
+     * @param cache   the cache of the heuristic values shared by the threads or null.
+     */
+    public HDAStarSearch(ASP planner, Problem problem, HeuristicCache cache) {
+        this.planner = planner;
+        this.problem = problem;
+        this.goal = problem.getGoal();
+        this.actions = problem.getActions();
+        this.cache = cache;
+        this.zobrist = new ZobristHash(problem.getFluents().size());
+        this.optimal = planner.getHeuristicWeight() == 1.0;
+        this.work = new AtomicLong();
+        this.incumbent = new AtomicLong(Long.MAX_VALUE);
+    }
+
+    /**
+     * Search a solution plan until the search ends or the deadline of the search is expired.
+     *
+     * @param deadline the deadline of the search, polled by all the threads at each expansion.
+     * @param monitor  the monitor of the heap, polled by all the threads at each expansion, or null. The search
+     *                 stops when the heap is under pressure.
+     * @return a plan solution for the problem or null if no plan was found. If the deadline expires or the heap comes
+     *     under pressure after a goal is expanded, the best plan found is returned even if its optimality is not
+     *     proven.
+     */
+    public Plan search(Deadline deadline, MemoryMonitor monitor) {
+        this.deadline = deadline;
+        this.monitor = monitor;
+        final int threads = this.planner.getThreads();
+
+        // We create one worker by thread, each one with its own lists and its own instance of the heuristic
+        this.workers = new Worker[threads];
+        final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(threads);
+        for (int i = 0; i < threads; i++) {
+            this.workers[i] = new Worker(i);
+            tasks.add(this.workers[i]::run);
+        }
+        final SearchMetrics metrics = this.planner.getMetrics();
+        metrics.setSizes(() -> this.sum(true), () -> this.sum(false));
+
+        // We send the root to its owner as any other node, so the counter starts with one node in transit
+        final Node root = new Node(new State(this.problem.getInitialState()), null, -1, 0, 0);
+        this.work.set(1);
+        this.workers[this.owner(root)].inbox.offer(new Message(root, ClosedList.NONE, false));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        this.logStatistics();
+        metrics.freezeSizes();
+        final long best = this.incumbent.get();
+        if (best == Long.MAX_VALUE) {
+            this.release();
+            return null;
+        }
+        if (this.optimal && this.work.get() != 0) {
+            LOGGER.info("* HDA* search stopped before proving the optimality of the plan found\n");
+        }
+        final Plan plan = this.extractPlan((int) best);
+        this.release();
+        return plan;
+    }
+
+    /**
+     * Returns the thread owning a state.
+     *
+     * @param state the state.
+     * @return the index of the thread owning the state.
+     */
+    private int owner(final State state) {
+        return (int) (((this.zobrist.hash(state) >>> 32) * this.workers.length) >>> 32);
+    }
+
+    /**
+     * Returns the cost bound of the search, the cost of the incumbent.
+     *
+     * @return the cost of the incumbent or <code>Integer.MAX_VALUE</code> if no goal was expanded.
+     */
+    private int bound() {
+        return (int) (this.incumbent.get() >>> 32);
+    }
+
+    /**
+     * Records a goal expanded as the incumbent if it is cheaper than the current incumbent.
+     *
+     * @param cost   the cost of the goal.
+     * @param global the global index of the goal.
+     */
+    private void offerIncumbent(final int cost, final int global) {
+        final long packed = ((long) cost << 32) | (global & 0xFFFFFFFFL);
+        long current = this.incumbent.get();
+        while (packed < current && !this.incumbent.compareAndSet(current, packed)) {
+            current = this.incumbent.get();
+        }
+    }
+
+    /**
+     * Extracts a plan from a goal by following its parents in the closed lists of their owners. The parents may have
+     * been replaced by cheaper ones since the goal was expanded, so the plan is never longer than the incumbent.
+     *
+     * @param global the global index of the goal.
+     * @return the plan extracted from the goal.
+     */
+    private Plan extractPlan(final int global) {
+        final int threads = this.workers.length;
+        final Plan plan = new SequentialPlan();
+        int n = global;
+        while (true) {
+            final ClosedList close = this.workers[n % threads].close;
+            final int index = n / threads;
+            final int parent = close.getParent(index);
+            if (parent == ClosedList.NONE) {
+                return plan;
+            }
+            plan.add(0, this.actions.get(close.getAction(index)));
+            n = parent;
+        }
+    }
+
+    /**
+     * Releases the closed lists of the threads.
+     */
+    private void release() {
+        for (Worker worker : this.workers) {
+            worker.close.release();
+        }
+    }
+
+    /**
+     * Logs the statistics of the search summed over the threads.
+     */
+    private void logStatistics() {
+        long expanded = 0;
+        long skipped = 0;
+        long reopened = 0;
+        long sent = 0;
+        long states = 0;
+        long memory = 0;
+        final long[] expansions = new long[this.workers.length];
+        for (int i = 0; i < this.workers.length; i++) {
+            final Worker worker = this.workers[i];
+            expanded += worker.expanded;
+            skipped += worker.skipped;
+            reopened += worker.reopened;
+            sent += worker.sent;
+            states += worker.close.size();
+            memory += worker.close.getMemoryUsed();
+            expansions[i] = worker.expanded;
+        }
+        LOGGER.info("* HDA* search with " + this.workers.length + " threads expanded " + expanded + " nodes, skipped "
+            + skipped + " stale nodes, reopened " + reopened + " nodes and sent " + sent + " nodes to other threads\n");
+        LOGGER.info("* Expansions by thread: " + Arrays.toString(expansions) + "\n");
+        LOGGER.info("* Closed lists: states=" + states + ", memory=" + (memory / 1024) + " KB\n");
+        this.planner.getMetrics().setMemoryUsed(memory);
+    }
+
+    /**
+     * Returns the number of nodes in the open lists or of states in the closed lists of the threads, read without
+     * synchronization while the threads run.
+     *
+     * @param open <code>true</code> to sum the sizes of the open lists, <code>false</code> to sum the sizes of the
+     *             closed lists.
+     * @return the sum of the sizes of the lists.
+     */
+    private long sum(final boolean open) {
+        long sum = 0;
+        for (Worker worker : this.workers) {
+            sum += open ? worker.open.size() : worker.close.size();
+        }
+        return sum;
+    }
+
+    /**
+     * This class implements a node sent to its owner with the global index of its parent.
+     */
+    private static final class Message {
+
+        /**
+         * The node, holding its cost and the action applied to reach it.
+         */
+        private final Node node;
+
+        /**
+         * The global index of the parent of the node or <code>NONE</code> for the root.
+         */
+        private final int parent;
+
+        /**
+         * Whether the heuristic value of the node is computed.
+         */
+        private final boolean evaluated;
+
+        /**
+         * Creates a new message.
+         *
+         * @param node      the node.
+         * @param parent    the global index of the parent of the node.
+         * @param evaluated whether the heuristic value of the node is computed.
+         */
+        Message(final Node node, final int parent, final boolean evaluated) {
+            this.node = node;
+            this.parent = parent;
+            this.evaluated = evaluated;
+        }
+    }
+
+    /**
+     * This class implements a thread of the search, owning a partition of the state space.
+     */
+    private final class Worker {
+
+        /**
+         * The index of the thread.
+         */
+        private final int id;
+
+        /**
+         * The nodes sent to this thread by the other threads.
+         */
+        private final Queue<Message> inbox;
+
+        /**
+         * The closed list of the states owned by this thread.
+         */
+        private final ClosedList close;
+
+        /**
+         * The open list of the nodes owned by this thread.
+         */
+        private final Queue<Node> open;
+
+        /**
+         * The instance of the heuristic of this thread, created by the thread itself.
+         */
+        private StateHeuristic heuristic;
+
+        /**
+         * The successor generator of this thread, created by the thread itself.
+         */
+        private SuccessorGenerator generator;
+
+        /**
+         * The buffer receiving the actions applicable in a node.
+         */
+        private int[] applicable;
+
+        /**
+         * The number of nodes expanded by this thread.
+         */
+        private long expanded;
+
+        /**
+         * The number of stale nodes skipped by this thread.
+         */
+        private long skipped;
+
+        /**
+         * The number of closed nodes reopened by this thread.
+         */
+        private long reopened;
+
+        /**
+         * The number of nodes sent by this thread to the other threads.
+         */
+        private long sent;
+
+        /**
+         * Creates a new worker.
+         *
+         * @param id the index of the thread.
+         */
+        Worker(final int id) {
+            this.id = id;
+            this.inbox = new ConcurrentLinkedQueue<Message>();
+            this.close = HDAStarSearch.this.planner.createClosedList(HDAStarSearch.this.problem);
+            this.open = HDAStarSearch.this.planner.createOpenList();
+        }
+
+        /**
+         * Runs the thread until the search ends or the deadline expires.
+         *
+         * @return null.
+         */
+        Void run() {
+            final HDAStarSearch search = HDAStarSearch.this;
+            // We track whether this thread is counted as busy in the counter of the search
+            boolean busy = false;
+            try {
+                // We build the heuristic and the successor generator in the thread, so they are built in parallel
+                this.heuristic = search.planner.getHeuristicInstance(search.problem, search.cache);
+                this.generator = new SuccessorGenerator(search.actions);
+                this.applicable = new int[this.generator.size()];
+                while (!search.done && !search.deadline.poll()
+                    && (search.monitor == null || !search.monitor.isUnderPressure())) {
+                    // We receive the nodes in transit. The count of the first one is passed to this thread if it was
+                    // idle, the others are uncounted. The root is evaluated when it is received, so the deadline is
+                    // also polled between two nodes
+                    Message message;
+                    while (!search.deadline.poll() && (message = this.inbox.poll()) != null) {
+                        if (busy) {
+                            search.work.decrementAndGet();
+                        } else {
+                            busy = true;
+                        }
+                        this.receive(message.node, message.parent, message.evaluated);
+                    }
+                    final Node current = this.next();
+                    if (current != null) {
+                        this.expand(current);
+                    } else if (busy) {
+                        busy = false;
+                        if (search.work.decrementAndGet() == 0) {
+                            search.done = true;
+                        }
+                    } else if (search.work.get() == 0) {
+                        search.done = true;
+                    } else {
+                        Thread.yield();
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                // We stop the other threads, which would otherwise wait for the work of this one
+                search.done = true;
+                throw e;
+            }
+            return null;
+        }
+
+        /**
+         * Records a node owned by this thread in its closed list and pushes it in its open list, unless its state
+         * was already reached by a path at least as cheap, the goal cannot be reached from it or it cannot lead to a
+         * plan cheaper than the incumbent.
+         *
+         * @param node      the node, holding its cost and the action applied to reach it.
+         * @param parent    the global index of the parent of the node.
+         * @param evaluated whether the heuristic value of the node is computed.
+         */
+        private void receive(final Node node, final int parent, final boolean evaluated) {
+            final HDAStarSearch search = HDAStarSearch.this;
+            final int g = (int) node.getCost();
+            if (search.optimal && g + (evaluated ? (int) node.getHeuristic() : 0) >= search.bound()) {
+                return;
+            }
+            // We add the state and look for it in a single probe, the list only growing if the state is new
+            final int before = this.close.size();
+            final int known = this.close.add(node, g, parent, node.getAction());
+            if (this.close.size() == before) {
+                if (g >= this.close.getCost(known)) {
+                    return;
+                }
+                if (this.close.isClosed(known)) {
+                    this.reopened++;
+                }
+                this.close.update(known, g, parent, node.getAction());
+            }
+            node.setIndex(known);
+            if (!evaluated) {
+                final int h = this.heuristic.estimate(node, search.goal);
+                if (h == Integer.MAX_VALUE || (search.optimal && g + h >= search.bound())) {
+                    return;
+                }
+                node.setHeuristic(h);
+            }
+            this.open.add(node);
+        }
+
+        /**
+         * Pops the next node to expand from the open list of this thread, skipping the stale nodes. The open list is
+         * cleared when its first node cannot lead to a plan cheaper than the incumbent.
+         *
+         * @return the next node to expand or null if there is none.
+         */
+        private Node next() {
+            final HDAStarSearch search = HDAStarSearch.this;
+            Node node;
+            while ((node = this.open.poll()) != null) {
+                final int index = node.getIndex();
+                if (this.close.isClosed(index) || node.getCost() > this.close.getCost(index)) {
+                    this.skipped++;
+                } else if (search.optimal && node.getCost() + node.getHeuristic() >= search.bound()) {
+                    this.open.clear();
+                    return null;
+                } else {
+                    return node;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Expands a node owned by this thread. The children owned by this thread are received directly, the others
+         * are sent to their owners.
+         *
+         * @param current the node to expand.
+         * @throws IllegalStateException if the global index of the node does not fit in an int.
+         */
+        private void expand(final Node current) {
+            final HDAStarSearch search = HDAStarSearch.this;
+            final int threads = search.workers.length;
+            final int index = current.getIndex();
+            // We stop the search before the global index overflows, which would corrupt the parents of the states
+            if (index > (Integer.MAX_VALUE - this.id) / threads) {
+                throw new IllegalStateException("Too many states for the global indexes of " + threads + " threads");
+            }
+            final int global = index * threads + this.id;
+            this.close.close(index);
+            this.expanded++;
+            search.planner.getMetrics().expanded();
+
+            if (current.satisfy(search.goal)) {
+                search.offerIncumbent((int) current.getCost(), global);
+                if (!search.optimal) {
+                    search.done = true;
+                }
+                return;
+            }
+
+            final int g = (int) current.getCost() + 1;
+            final long scan = System.nanoTime();
+            final int size = this.generator.applicableActions(current, this.applicable);
+            search.planner.getMetrics().scanned(1, 1, System.nanoTime() - scan);
+            search.planner.getMetrics().generated(size);
+            for (int j = 0; j < size; j++) {
+                final int i = this.applicable[j];
+                final Node next = new Node(current);
+                for (ConditionalEffect ce : search.actions.get(i).getConditionalEffects()) {
+                    if (current.satisfy(ce.getCondition())) {
+                        next.apply(ce.getEffect());
+                    }
+                }
+                next.setCost(g);
+                next.setAction(i);
+                final int owner = search.owner(next);
+                if (owner == this.id) {
+                    this.receive(next, global, false);
+                } else {
+                    // We evaluate the node before sending it and prune the nodes from which the goal cannot be
+                    // reached even in the relaxed problem
+                    final int h = this.heuristic.estimate(next, search.goal);
+                    if (h == Integer.MAX_VALUE) {
+                        continue;
+                    }
+                    next.setHeuristic(h);
+                    // We count the node before it is visible to its owner, so the counter never reaches 0 while a
+                    // node is in transit
+                    search.work.incrementAndGet();
+                    search.workers[owner].inbox.offer(new Message(next, global, true));
+                    this.sent++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.exercise.util.Deadline;
+import fr.uga.pddl4j.exercise.util.HeuristicCache;
+import fr.uga.pddl4j.exercise.util.SearchMetrics;
+import fr.uga.pddl4j.exercise.util.SuccessorGenerator;
+import fr.uga.pddl4j.exercise.util.TranspositionTable;
+import fr.uga.pddl4j.exercise.util.ZobristHash;
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.plan.SequentialPlan;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class implements an iterative deepening A* search (IDA*) with a transposition table, the memory-bounded
+ * search run by ASP when the heap is under pressure. Each iteration is a depth-first search pruning the nodes whose
+ * f-value exceeds a bound, and the next bound is the lowest f-value pruned. The memory used is the depth-first path
+ * and the table, whose capacity is fixed.
+ *
+ * <p>The table records for each state met the lowest cost it was reached with and its heuristic value. A state
+ * reached again by a more expensive path is pruned, which cuts the cycles and most of the transpositions, and the
+ * heuristic values are reused from one iteration to the next instead of being computed again. The table is keyed by
+ * the Zobrist hash of the states and replaces its most expensive entries when it is full, so it only loses pruning.</p>
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public final class IDAStarSearch {
+
+    /**
+     * The class logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(IDAStarSearch.class.getName());
+
+    /**
+     * The problem to solve.
+     */
+    private final Problem problem;
+
+    /**
+     * The goal of the problem.
+     */
+    private final Condition goal;
+
+    /**
+     * The actions available from the problem.
+     */
+    private final List<Action> actions;
+
+    /**
+     * The weight of the heuristic.
+     */
+    private final double weight;
+
+    /**
+     * The instance of the heuristic of the search.
+     */
+    private final StateHeuristic heuristic;
+
+    /**
+     * The successor generator of the actions.
+     */
+    private final SuccessorGenerator generator;
+
+    /**
+     * The hash of the states used as keys of the table.
+     */
+    private final ZobristHash zobrist;
+
+    /**
+     * The transposition table of the search.
+     */
+    private final TranspositionTable table;
+
+    /**
+     * The metrics of the search.
+     */
+    private final SearchMetrics metrics;
+
+    /**
+     * The buffers receiving the actions applicable in the nodes of the path, indexed by depth.
+     */
+    private int[][] applicable;
+
+    /**
+     * The actions of the current path, indexed by depth.
+     */
+    private int[] path;
+
+    /**
+     * The bound of the current iteration.
+     */
+    private double bound;
+
+    /**
+     * The lowest f-value pruned by the current iteration.
+     */
+    private double next;
+
+    /**
+     * The number of nodes expanded by all the iterations.
+     */
+    private long expanded;
+
+    /**
+     * The deadline of the search.
+     */
+    private Deadline deadline;
+
+    /**
+     * Creates a new IDA* search.
+     *
+     * @param planner  the planner that runs this search.
+     * @param problem  the problem to solve.
+     * @param cache    the cache of the heuristic values or null.
+     * @param capacity the maximum number of states of the transposition table.
+     */
+    public IDAStarSearch(ASP planner, Problem problem, HeuristicCache cache, int capacity) {
+        this.problem = problem;
+        this.goal = problem.getGoal();
+        this.actions = problem.getActions();
+        this.weight = planner.getHeuristicWeight();
+        this.heuristic = planner.getHeuristicInstance(problem, cache);
+        this.generator = new SuccessorGenerator(this.actions);
+        this.zobrist = new ZobristHash(problem.getFluents().size());
+        this.table = new TranspositionTable(capacity);
+        this.metrics = planner.getMetrics();
+        this.applicable = new int[16][];
+        this.path = new int[16];
+    }
+
+    /**
+     * Search a solution plan until the goal is reached, the search space is exhausted or the deadline is expired.
+     *
+     * @param deadline the deadline of the search, polled at each node.
+     * @param bound    a lower bound of the f-value of the plans, used as the bound of the first iteration.
+     * @return a plan solution for the problem or null if no plan was found.
+     */
+    public Plan search(Deadline deadline, double bound) {
+        this.deadline = deadline;
+        final State root = new State(this.problem.getInitialState());
+        final int h = this.heuristic.estimate(root, this.goal);
+        if (h == Integer.MAX_VALUE) {
+            return null;
+        }
+        this.bound = Math.max(bound, this.weight * h);
+        final long hash = this.zobrist.hash(root);
+        this.table.put(hash, 0, h);
+        // We publish the size of the table as the closed size, the search having no open list
+        this.metrics.setSizes(null, this.table::size);
+        this.metrics.setMemoryUsed(16L * this.table.capacity());
+        try {
+            while (!deadline.isExpired()) {
+                this.next = Double.POSITIVE_INFINITY;
+                final int depth = this.dfs(root, hash, 0, h);
+                LOGGER.info("* IDA* iteration with bound " + this.bound + " done, " + this.expanded
+                    + " nodes expanded, " + this.table.size() + " states in the table\n");
+                if (depth >= 0) {
+                    final Plan plan = new SequentialPlan();
+                    for (int d = 0; d < depth; d++) {
+                        plan.add(d, this.actions.get(this.path[d]));
+                    }
+                    return plan;
+                }
+                if (this.next == Double.POSITIVE_INFINITY) {
+                    return null;
+                }
+                this.bound = this.next;
+            }
+            return null;
+        } finally {
+            this.metrics.freezeSizes();
+        }
+    }
+
+    /**
+     * Runs the depth-first search of an iteration from a node.
+     *
+     * @param state the state of the node.
+     * @param hash  the hash of the state.
+     * @param g     the cost to reach the node, i.e., its depth.
+     * @param h     the heuristic value of the node.
+     * @return the length of the plan found, or -1 if no plan was found below the node.
+     */
+    private int dfs(final State state, final long hash, final int g, final int h) {
+        if (this.deadline.poll()) {
+            return -1;
+        }
+        final double f = g + this.weight * h;
+        if (f > this.bound) {
+            this.next = Math.min(this.next, f);
+            return -1;
+        }
+        if (state.satisfy(this.goal)) {
+            return g;
+        }
+        // We prune the state if it was reached by a cheaper path
+        final int known = this.table.getCost(hash);
+        if (known != TranspositionTable.UNKNOWN && known < g) {
+            return -1;
+        }
+        this.table.put(hash, g, h);
+        this.expanded++;
+        this.metrics.expanded();
+
+        if (g == this.path.length) {
+            this.path = Arrays.copyOf(this.path, g * 2);
+            this.applicable = Arrays.copyOf(this.applicable, g * 2);
+        }
+        if (this.applicable[g] == null) {
+            this.applicable[g] = new int[this.generator.size()];
+        }
+        final int[] buffer = this.applicable[g];
+        final long scan = System.nanoTime();
+        final int size = this.generator.applicableActions(state, buffer);
+        this.metrics.scanned(1, 1, System.nanoTime() - scan);
+        this.metrics.generated(size);
+        for (int j = 0; j < size; j++) {
+            final int i = buffer[j];
+            final State child = new State(state);
+            for (ConditionalEffect ce : this.actions.get(i).getConditionalEffects()) {
+                if (state.satisfy(ce.getCondition())) {
+                    child.apply(ce.getEffect());
+                }
+            }
+            // We reuse the heuristic value of the child if it is in the table, and record it otherwise
+            final long childHash = this.zobrist.hash(child);
+            int childH = this.table.getHeuristic(childHash);
+            if (childH == TranspositionTable.UNKNOWN) {
+                childH = this.heuristic.estimate(child, this.goal);
+                if (childH == Integer.MAX_VALUE) {
+                    continue;
+                }
+                this.table.put(childHash, g + 1, childH);
+            }
+            this.path[g] = i;
+            final int depth = this.dfs(child, childHash, g + 1, childH);
+            if (depth >= 0) {
+                return depth;
+            }
+            if (this.deadline.isExpired()) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+}
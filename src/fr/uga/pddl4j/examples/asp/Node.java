@@ -15,6 +15,11 @@ public final class Node extends State {
      */
     private Node parent;
 
+    /**
+     * The index of the state of this node in the closed list of the search.
+     */
+    private int index;
+
     /**
      * The action apply to reach this node.
      */
@@ -119,6 +124,24 @@ public final class Node extends State {
         this.parent = parent;
     }
 
+    /**
+     * Returns the index of the state of the node in the closed list of the search.
+     *
+     * @return the index of the state of the node.
+     */
+    public final int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Sets the index of the state of the node in the closed list of the search.
+     *
+     * @param index the index of the state of the node to set.
+     */
+    public final void setIndex(final int index) {
+        this.index = index;
+    }
+
     /**
      * Returns the cost to reach the node from the root node.
      *
@@ -0,0 +1,59 @@
+package fr.uga.pddl4j.exercise.mcts;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * This class implements the Java Flight Recorder event of a goal reached by the MCTS planner.
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+@Name("fr.uga.pddl4j.exercise.mcts.Goal")
+@Label("MCTS Goal")
+@Category({"PDDL4J", "MCTS"})
+@Description("Goal reached by the MCTS search")
+@StackTrace(false)
+public final class GoalEvent extends Event {
+
+    /**
+     * The length of the plan reaching the goal.
+     */
+    @Label("Plan Length")
+    int length;
+
+    /**
+     * The time elapsed since the beginning of the search.
+     */
+    @Label("Search Time")
+    @Timespan(Timespan.MILLISECONDS)
+    long time;
+
+    /**
+     * The search mode of the planner.
+     */
+    @Label("Mode")
+    String mode;
+
+    /**
+     * Records a goal reached if the event is enabled.
+     *
+     * @param length the length of the plan reaching the goal.
+     * @param time   the time elapsed since the beginning of the search in ms.
+     * @param mode   the search mode of the planner.
+     */
+    static void record(final int length, final long time, final MCTS.Mode mode) {
+        final GoalEvent event = new GoalEvent();
+        if (event.isEnabled()) {
+            event.length = length;
+            event.time = time;
+            event.mode = mode.name();
+            event.commit();
+        }
+    }
+}
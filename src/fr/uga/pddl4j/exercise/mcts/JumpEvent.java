@@ -0,0 +1,66 @@
+package fr.uga.pddl4j.exercise.mcts;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * This class implements the Java Flight Recorder event of a jump of the MCTS planner, i.e., of the pure random walks
+ * run from the current state of the search to choose the next one. The duration of the event is the duration of the
+ * walks, so the jumps can be lined up with the garbage collections and the CPU samples of a recording.
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+@Name("fr.uga.pddl4j.exercise.mcts.Jump")
+@Label("MCTS Jump")
+@Category({"PDDL4J", "MCTS"})
+@Description("Pure random walks run from the current state of the MCTS search")
+@StackTrace(false)
+public final class JumpEvent extends Event {
+
+    /**
+     * The number of walks run by the jump.
+     */
+    @Label("Walks")
+    int walks;
+
+    /**
+     * The maximum length of the walks.
+     */
+    @Label("Length of Walks")
+    int lengthWalk;
+
+    /**
+     * The cost of the state the walks started from.
+     */
+    @Label("Start Cost")
+    int startCost;
+
+    /**
+     * The heuristic value of the state the walks started from.
+     */
+    @Label("Start Heuristic")
+    int startHeuristic;
+
+    /**
+     * The heuristic value of the best state found by the walks.
+     */
+    @Label("Best Heuristic")
+    int bestHeuristic;
+
+    /**
+     * Whether the best state found improves the lowest heuristic value since the last restart.
+     */
+    @Label("Improved")
+    boolean improved;
+
+    /**
+     * The number of jumps without improvement since the last restart, before this jump.
+     */
+    @Label("Steps Without Improvement")
+    int steps;
+}
@@ -1,5 +1,16 @@
 package fr.uga.pddl4j.exercise.mcts;
 
+import fr.uga.pddl4j.exercise.util.ApplicabilityTracker;
+import fr.uga.pddl4j.exercise.util.CachedHeuristic;
+import fr.uga.pddl4j.exercise.util.Deadline;
+import fr.uga.pddl4j.exercise.util.HeuristicCache;
+import fr.uga.pddl4j.exercise.util.MeteredHeuristic;
+import fr.uga.pddl4j.exercise.util.PlanOptimizer;
+import fr.uga.pddl4j.exercise.util.RelaxedPlanHeuristic;
+import fr.uga.pddl4j.exercise.util.SearchMetrics;
+import fr.uga.pddl4j.exercise.util.SuccessorGenerator;
+import fr.uga.pddl4j.exercise.util.TranspositionTable;
+import fr.uga.pddl4j.exercise.util.ZobristHash;
 import fr.uga.pddl4j.heuristics.state.StateHeuristic;
 import fr.uga.pddl4j.parser.DefaultParsedProblem;
 import fr.uga.pddl4j.parser.RequireKey;
@@ -18,9 +29,17 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import picocli.CommandLine;
 
+import javax.management.JMException;
+
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The class is an Monte-carlo tree search planner able to solve an ADL problems.
@@ -50,6 +69,54 @@ public class MCTS extends AbstractPlanner {
      */
     private static final long serialVersionUID = 001;
 
+    /**
+     * The search modes of the planner.
+     */
+    public enum Mode {
+        /**
+         * Monte-Carlo random walks restarting from the root of the search.
+         */
+        RANDOM_WALKS,
+        /**
+         * Tree-parallel UCT search keeping its statistics for the whole search.
+         */
+        UCT
+    }
+
+    /**
+     * The states evaluated with the heuristic along the random walks.
+     */
+    public enum Evaluation {
+        /**
+         * Every state reached by a walk is evaluated.
+         */
+        EVERY_STEP,
+        /**
+         * Only the endpoint of a walk is evaluated.
+         */
+        ENDPOINT
+    }
+
+    /**
+     * The policies used to select the actions of the random walks.
+     */
+    public enum WalkPolicy {
+        /**
+         * The actions are selected uniformly among the applicable actions.
+         */
+        PURE,
+        /**
+         * Monte-Carlo helpful actions: the helpful actions of the last state evaluated are selected with a higher
+         * probability than the other applicable actions.
+         */
+        MHA,
+        /**
+         * Monte-Carlo deadlock avoidance: the actions are selected with a Gibbs distribution penalizing the actions
+         * often found in the walks ending in a dead end or without progress.
+         */
+        MDA
+    }
+
     /**
      * Creates a new MCTS search planner with the default configuration.
      */
@@ -94,6 +161,57 @@ public class MCTS extends AbstractPlanner {
      */
     public static final StateHeuristic.Name DEFAULT_HEURISTIC = StateHeuristic.Name.FAST_FORWARD;
 
+    /**
+     * The successor generator of the last list of actions searched.
+     */
+    private transient SuccessorGenerator generator;
+
+    /**
+     * The tracker of the applicable actions of the last list of actions searched, shared by the copies given to the
+     * workers.
+     */
+    private transient ApplicabilityTracker tracker;
+
+    /**
+     * The list of actions of the successor generator and the tracker.
+     */
+    private transient List<Action> generatorActions;
+
+    /**
+     * The cache of the heuristic values of the current search or null if the values are not cached.
+     */
+    private transient HeuristicCache heuristicCache;
+
+    /**
+     * The FF heuristic of the last problem searched with helpful actions, shared by the copies given to the workers.
+     */
+    private transient RelaxedPlanHeuristic relaxedPlan;
+
+    /**
+     * The problem of the FF heuristic computing the helpful actions.
+     */
+    private transient Problem relaxedProblem;
+
+    /**
+     * The listener notified of the plans found by the anytime mode or null if the plans are only logged.
+     */
+    private transient PlanListener planListener;
+
+    /**
+     * The deadline of the running search or null if no search was started.
+     */
+    private transient volatile Deadline deadline;
+
+    /**
+     * The metrics of the running search or null if no search was started.
+     */
+    private transient volatile SearchMetrics metrics;
+
+    /**
+     * The random number generator of the running search from which the generators of the workers are split.
+     */
+    private transient SplittableRandom random;
+
     /**
      * Returns the name of the heuristic used by the planner to solve a planning problem.
      *
@@ -218,6 +336,240 @@ public class MCTS extends AbstractPlanner {
         return this.lengthWalk;
     }
 
+    /**
+     * Set the states evaluated with the heuristic along the random walks.
+     *
+     * @param evaluation the states evaluated with the heuristic along the random walks.
+     */
+    @CommandLine.Option(names = {"-ev", "--evaluation"}, defaultValue = "EVERY_STEP",
+        paramLabel = "<evaluation>", description = "Set the states evaluated along the walks : EVERY_STEP, ENDPOINT. "
+                                                       + "Evaluating only the endpoints allows longer walks. "
+                                                       + "(preset EVERY_STEP)")
+    public void setEvaluation(final Evaluation evaluation) {
+        this.evaluation = evaluation;
+    }
+
+    /**
+     * The states evaluated with the heuristic along the random walks.
+     */
+    private Evaluation evaluation;
+
+    /**
+     * The EVALUATION property used for planner configuration.
+     */
+    public static final String EVALUATION_SETTING = "EVALUATION";
+
+    /**
+     * The default value of the EVALUATION property used for planner configuration.
+     */
+    public static final Evaluation DEFAULT_EVALUATION = Evaluation.EVERY_STEP;
+
+    /**
+     * Returns the states evaluated with the heuristic along the random walks.
+     *
+     * @return the states evaluated with the heuristic along the random walks.
+     */
+    public final Evaluation getEvaluation() {
+        return this.evaluation;
+    }
+
+    /**
+     * Set the policy used to select the actions of the random walks.
+     *
+     * @param policy the policy used to select the actions of the random walks.
+     */
+    @CommandLine.Option(names = {"-p", "--policy"}, defaultValue = "PURE",
+        paramLabel = "<policy>", description = "Set the policy selecting the actions of the random walks : PURE, MHA, "
+                                                   + "MDA. MHA favours the helpful actions of the FF relaxed plan and "
+                                                   + "uses the FF heuristic to evaluate the walks. MDA avoids the "
+                                                   + "actions leading to dead ends. (preset PURE)")
+    public void setPolicy(final WalkPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * The policy used to select the actions of the random walks.
+     */
+    private WalkPolicy policy;
+
+    /**
+     * The POLICY property used for planner configuration.
+     */
+    public static final String POLICY_SETTING = "POLICY";
+
+    /**
+     * The default value of the POLICY property used for planner configuration.
+     */
+    public static final WalkPolicy DEFAULT_POLICY = WalkPolicy.PURE;
+
+    /**
+     * Returns the policy used to select the actions of the random walks.
+     *
+     * @return the policy used to select the actions of the random walks.
+     */
+    public final WalkPolicy getPolicy() {
+        return this.policy;
+    }
+
+    /**
+     * Set the probability to select a helpful action with the MHA policy.
+     *
+     * @param helpfulProbability the probability to select a helpful action.
+     */
+    @CommandLine.Option(names = {"-hp", "--helpfulProbability"}, defaultValue = "0.9",
+        paramLabel = "<helpfulProbability>", description = "Set the probability to select a helpful action with the "
+                                                               + "MHA policy, 1 to restrict the walks to the helpful "
+                                                               + "actions when there are some. (preset 0.9)")
+    public void setHelpfulProbability(final double helpfulProbability) {
+        if (helpfulProbability < 0.0 || helpfulProbability > 1.0) {
+            throw new IllegalArgumentException("HelpfulProbability < 0 or > 1");
+        }
+        this.helpfulProbability = helpfulProbability;
+    }
+
+    /**
+     * The probability to select a helpful action with the MHA policy.
+     */
+    private double helpfulProbability;
+
+    /**
+     * The HELPFUL_PROBABILITY property used for planner configuration.
+     */
+    public static final String HELPFUL_PROBABILITY_SETTING = "HELPFUL_PROBABILITY";
+
+    /**
+     * The default value of the HELPFUL_PROBABILITY property used for planner configuration.
+     */
+    public static final double DEFAULT_HELPFUL_PROBABILITY = 0.9;
+
+    /**
+     * Returns the probability to select a helpful action with the MHA policy.
+     *
+     * @return the probability to select a helpful action with the MHA policy.
+     */
+    public final double getHelpfulProbability() {
+        return this.helpfulProbability;
+    }
+
+    /**
+     * Set the temperature of the Gibbs distribution of the MDA policy.
+     *
+     * @param temperature the temperature of the Gibbs distribution of the MDA policy.
+     */
+    @CommandLine.Option(names = {"-tp", "--temperature"}, defaultValue = "0.5",
+        paramLabel = "<temperature>", description = "Set the temperature of the Gibbs distribution of the MDA policy, "
+                                                        + "the lower the more the dead-end actions are avoided. "
+                                                        + "(preset 0.5)")
+    public void setTemperature(final double temperature) {
+        if (temperature <= 0.0) {
+            throw new IllegalArgumentException("Temperature <= 0");
+        }
+        this.temperature = temperature;
+    }
+
+    /**
+     * The temperature of the Gibbs distribution of the MDA policy.
+     */
+    private double temperature;
+
+    /**
+     * The TEMPERATURE property used for planner configuration.
+     */
+    public static final String TEMPERATURE_SETTING = "TEMPERATURE";
+
+    /**
+     * The default value of the TEMPERATURE property used for planner configuration.
+     */
+    public static final double DEFAULT_TEMPERATURE = 0.5;
+
+    /**
+     * Returns the temperature of the Gibbs distribution of the MDA policy.
+     *
+     * @return the temperature of the Gibbs distribution of the MDA policy.
+     */
+    public final double getTemperature() {
+        return this.temperature;
+    }
+
+    /**
+     * Set the number of threads used to run the random walks.
+     *
+     * @param threads the number of threads used to run the random walks.
+     */
+    @CommandLine.Option(names = {"-th", "--threads"}, defaultValue = "1",
+        paramLabel = "<threads>", description = "Set the number of threads used to run the random walks. (preset 1)")
+    public void setThreads(final int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Threads <= 0");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * The number of threads used to run the random walks.
+     */
+    private int threads;
+
+    /**
+     * The THREADS property used for planner configuration.
+     */
+    public static final String THREADS_SETTING = "THREADS";
+
+    /**
+     * The default value of the THREADS property used for planner configuration.
+     */
+    public static final int DEFAULT_THREADS = 1;
+
+    /**
+     * Returns the number of threads used to run the random walks.
+     *
+     * @return the number of threads used to run the random walks.
+     */
+    public final int getThreads() {
+        return this.threads;
+    }
+
+    /**
+     * Set the seed of the random number generators of the walks. In the random walks mode, the same seed with the
+     * same configuration, the number of threads included, gives the same search as long as it is not stopped by the
+     * maximum search time, so the anytime mode gives the same sequence of plans. Different numbers of threads give
+     * different searches. With several threads, the UCT mode is not reproducible, its tree depending on the
+     * scheduling of the threads.
+     *
+     * @param seed the seed of the random number generators or 0 to draw a random seed.
+     */
+    @CommandLine.Option(names = {"-sd", "--seed"}, defaultValue = "0",
+        paramLabel = "<seed>", description = "Set the seed of the random walks, 0 to draw a random seed. The random "
+                                                 + "walks mode is reproducible for a given number of threads, the UCT "
+                                                 + "mode only with a single thread. (preset 0)")
+    public void setSeed(final long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * The seed of the random number generators of the walks or 0 to draw a random seed.
+     */
+    private long seed;
+
+    /**
+     * The SEED property used for planner configuration.
+     */
+    public static final String SEED_SETTING = "SEED";
+
+    /**
+     * The default value of the SEED property used for planner configuration.
+     */
+    public static final long DEFAULT_SEED = 0L;
+
+    /**
+     * Returns the seed of the random number generators of the walks.
+     *
+     * @return the seed of the random number generators or 0 if a random seed is drawn.
+     */
+    public final long getSeed() {
+        return this.seed;
+    }
+
     /**
      * Set the maximum number of steps before starting to explore another branch of the MCTS.
      *
@@ -257,6 +609,316 @@ public class MCTS extends AbstractPlanner {
         return this.maxSteps;
     }
 
+    /**
+     * Set whether the length of the walks, the number of walks per jump and the maximum number of steps are adjusted
+     * during the search.
+     *
+     * @param adaptive whether the parameters of the walks are adjusted during the search.
+     */
+    @CommandLine.Option(names = {"-ad", "--adaptive"}, defaultValue = "false",
+        description = "Adjust the length of the walks, the number of walks per jump and the maximum number of steps "
+                          + "to the progress of the search, starting from the configured values. (preset false)")
+    public void setAdaptive(final boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Whether the parameters of the walks are adjusted during the search.
+     */
+    private boolean adaptive;
+
+    /**
+     * The ADAPTIVE property used for planner configuration.
+     */
+    public static final String ADAPTIVE_SETTING = "ADAPTIVE";
+
+    /**
+     * The default value of the ADAPTIVE property used for planner configuration.
+     */
+    public static final boolean DEFAULT_ADAPTIVE = false;
+
+    /**
+     * Returns whether the parameters of the walks are adjusted during the search.
+     *
+     * @return whether the parameters of the walks are adjusted during the search.
+     */
+    public final boolean isAdaptive() {
+        return this.adaptive;
+    }
+
+    /**
+     * Set whether the random walks keep searching for shorter plans until the maximum search time once a plan is
+     * found.
+     *
+     * @param anytime whether the search keeps looking for shorter plans.
+     */
+    @CommandLine.Option(names = {"-an", "--anytime"}, defaultValue = "false",
+        description = "Keep searching for shorter plans with the random walks until the maximum search time, each "
+                          + "shorter plan being reported as soon as it is found. (preset false)")
+    public void setAnytime(final boolean anytime) {
+        this.anytime = anytime;
+    }
+
+    /**
+     * Whether the search keeps looking for shorter plans once a plan is found.
+     */
+    private boolean anytime;
+
+    /**
+     * The ANYTIME property used for planner configuration.
+     */
+    public static final String ANYTIME_SETTING = "ANYTIME";
+
+    /**
+     * The default value of the ANYTIME property used for planner configuration.
+     */
+    public static final boolean DEFAULT_ANYTIME = false;
+
+    /**
+     * Returns whether the search keeps looking for shorter plans once a plan is found.
+     *
+     * @return whether the search keeps looking for shorter plans once a plan is found.
+     */
+    public final boolean isAnytime() {
+        return this.anytime;
+    }
+
+    /**
+     * Sets the listener notified of each shorter plan found by the anytime mode.
+     *
+     * @param listener the listener or null to only log the plans.
+     */
+    public void setPlanListener(final PlanListener listener) {
+        this.planListener = listener;
+    }
+
+    /**
+     * Returns the listener notified of each shorter plan found by the anytime mode.
+     *
+     * @return the listener or null if the plans are only logged.
+     */
+    public final PlanListener getPlanListener() {
+        return this.planListener;
+    }
+
+    /**
+     * Returns the deadline of the running search, polled by the walks and the iterations of the search.
+     *
+     * @return the deadline of the running search or null if no search was started.
+     */
+    public final Deadline getDeadline() {
+        return this.deadline;
+    }
+
+    /**
+     * Returns the metrics of the running search, published as an MBean and updated by the walks and the iterations
+     * of the search.
+     *
+     * @return the metrics of the running search or null if no search was started.
+     */
+    public final SearchMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Cancels the running search. The workers stop at their next step and the search returns the best plan found so
+     * far, or null. The method has no effect if no search is running.
+     */
+    public void cancel() {
+        final Deadline deadline = this.deadline;
+        if (deadline != null) {
+            deadline.cancel();
+        }
+    }
+
+    /**
+     * Set whether the plans found are shortened by cutting their cycles and eliminating their redundant actions.
+     *
+     * @param optimizePlan whether the plans found are shortened.
+     */
+    @CommandLine.Option(names = {"-op", "--optimizePlan"}, defaultValue = "true", arity = "1",
+        paramLabel = "<optimizePlan>", description = "Shorten the plans found by cutting their cycles and "
+                                                         + "eliminating their redundant actions. (preset true)")
+    public void setOptimizePlan(final boolean optimizePlan) {
+        this.optimizePlan = optimizePlan;
+    }
+
+    /**
+     * Whether the plans found are shortened by cutting their cycles and eliminating their redundant actions.
+     */
+    private boolean optimizePlan;
+
+    /**
+     * The OPTIMIZE_PLAN property used for planner configuration.
+     */
+    public static final String OPTIMIZE_PLAN_SETTING = "OPTIMIZE_PLAN";
+
+    /**
+     * The default value of the OPTIMIZE_PLAN property used for planner configuration.
+     */
+    public static final boolean DEFAULT_OPTIMIZE_PLAN = true;
+
+    /**
+     * Returns whether the plans found are shortened by cutting their cycles and eliminating their redundant actions.
+     *
+     * @return whether the plans found are shortened.
+     */
+    public final boolean isOptimizePlan() {
+        return this.optimizePlan;
+    }
+
+    /**
+     * Set the search mode of the planner.
+     *
+     * @param mode the search mode of the planner.
+     */
+    @CommandLine.Option(names = {"-m", "--mode"}, defaultValue = "RANDOM_WALKS",
+        paramLabel = "<mode>", description = "Set the search mode : RANDOM_WALKS, UCT (preset RANDOM_WALKS)")
+    public void setMode(final Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * The search mode of the planner.
+     */
+    private Mode mode;
+
+    /**
+     * The MODE property used for planner configuration.
+     */
+    public static final String MODE_SETTING = "MODE";
+
+    /**
+     * The default value of the MODE property used for planner configuration.
+     */
+    public static final Mode DEFAULT_MODE = Mode.RANDOM_WALKS;
+
+    /**
+     * Returns the search mode of the planner.
+     *
+     * @return the search mode of the planner.
+     */
+    public final Mode getMode() {
+        return this.mode;
+    }
+
+    /**
+     * Set the exploration constant of the UCT search.
+     *
+     * @param exploration the exploration constant of the UCT search.
+     */
+    @CommandLine.Option(names = {"-c", "--exploration"}, defaultValue = "0.3",
+        paramLabel = "<exploration>", description = "Set the exploration constant of the UCT search. (preset 0.3)")
+    public void setExploration(final double exploration) {
+        if (exploration < 0) {
+            throw new IllegalArgumentException("Exploration < 0");
+        }
+        this.exploration = exploration;
+    }
+
+    /**
+     * The exploration constant of the UCT search.
+     */
+    private double exploration;
+
+    /**
+     * The EXPLORATION property used for planner configuration.
+     */
+    public static final String EXPLORATION_SETTING = "EXPLORATION";
+
+    /**
+     * The default value of the EXPLORATION property used for planner configuration.
+     */
+    public static final double DEFAULT_EXPLORATION = 0.3;
+
+    /**
+     * Returns the exploration constant of the UCT search.
+     *
+     * @return the exploration constant of the UCT search.
+     */
+    public final double getExploration() {
+        return this.exploration;
+    }
+
+    /**
+     * Set the number of states recorded in the transposition table of each thread.
+     *
+     * @param tableSize the number of states recorded in the transposition table of each thread.
+     */
+    @CommandLine.Option(names = {"-tt", "--tableSize"}, defaultValue = "262144",
+        paramLabel = "<tableSize>", description = "Set the number of states recorded in the transposition table of "
+                                                     + "each thread, 0 to disable the table. (preset 262144)")
+    public void setTableSize(final int tableSize) {
+        if (tableSize < 0) {
+            throw new IllegalArgumentException("TableSize < 0");
+        }
+        this.tableSize = tableSize;
+    }
+
+    /**
+     * The number of states recorded in the transposition table of each thread.
+     */
+    private int tableSize;
+
+    /**
+     * The TABLE_SIZE property used for planner configuration.
+     */
+    public static final String TABLE_SIZE_SETTING = "TABLE_SIZE";
+
+    /**
+     * The default value of the TABLE_SIZE property used for planner configuration.
+     */
+    public static final int DEFAULT_TABLE_SIZE = 262144;
+
+    /**
+     * Returns the number of states recorded in the transposition table of each thread.
+     *
+     * @return the number of states recorded in the transposition table of each thread.
+     */
+    public final int getTableSize() {
+        return this.tableSize;
+    }
+
+    /**
+     * Set the memory bound of the cache of the heuristic values.
+     *
+     * @param heuristicCache the memory bound of the cache of the heuristic values in MB.
+     */
+    @CommandLine.Option(names = {"-hc", "--heuristicCache"}, defaultValue = "0",
+        paramLabel = "<heuristicCache>", description = "Set the memory bound of the cache of the heuristic values "
+                                                           + "in MB, 0 to disable the cache. Not used by the MHA "
+                                                           + "policy. (preset 0)")
+    public void setHeuristicCacheSize(final int heuristicCache) {
+        if (heuristicCache < 0) {
+            throw new IllegalArgumentException("HeuristicCache < 0");
+        }
+        this.heuristicCacheSize = heuristicCache;
+    }
+
+    /**
+     * The memory bound of the cache of the heuristic values in MB.
+     */
+    private int heuristicCacheSize;
+
+    /**
+     * The HEURISTIC_CACHE property used for planner configuration.
+     */
+    public static final String HEURISTIC_CACHE_SETTING = "HEURISTIC_CACHE";
+
+    /**
+     * The default value of the HEURISTIC_CACHE property used for planner configuration.
+     */
+    public static final int DEFAULT_HEURISTIC_CACHE = 0;
+
+    /**
+     * Returns the memory bound of the cache of the heuristic values in MB.
+     *
+     * @return the memory bound of the cache of the heuristic values in MB.
+     */
+    public final int getHeuristicCacheSize() {
+        return this.heuristicCacheSize;
+    }
+
     /**
      * Set the maximum time before the end of the search.
      *
@@ -319,8 +981,30 @@ public class MCTS extends AbstractPlanner {
         LOGGER.info("* Starting MCTS search \n");
         // Search a solution
         final long begin = System.currentTimeMillis();
-        final Plan plan = this.mcts(problem);
+        // The walks of the MHA policy do not use the cache of the heuristic values.
+        final boolean cached = this.getHeuristicCacheSize() > 0
+            && !(this.getMode() == Mode.RANDOM_WALKS && this.getPolicy() == WalkPolicy.MHA);
+        this.heuristicCache = cached
+            ? new HeuristicCache(this.getHeuristicCacheSize() * 1024L * 1024L) : null;
+        Plan plan = (this.getMode() == Mode.UCT) ? this.uct(problem) : this.mcts(problem);
+        if (this.deadline != null && this.deadline.isCancelled()) {
+            LOGGER.info("* MCTS search cancelled after " + this.deadline.getElapsedTime() + " ms\n");
+        }
+        // The plans found by the random walks in anytime mode are already optimized before they are notified.
+        if (plan != null && this.isOptimizePlan() && !(this.isAnytime() && this.getMode() == Mode.RANDOM_WALKS)) {
+            final long start = System.currentTimeMillis();
+            final int length = plan.size();
+            plan = new PlanOptimizer(problem).optimize(plan);
+            LOGGER.info("* Plan optimized from " + length + " to " + plan.size() + " actions in "
+                + (System.currentTimeMillis() - start) + " ms\n");
+        }
         final long end = System.currentTimeMillis();
+        if (this.metrics != null) {
+            LOGGER.info("* Search metrics: " + this.metrics + "\n");
+        }
+        if (this.heuristicCache != null) {
+            LOGGER.info("* Heuristic cache: " + this.heuristicCache + "\n");
+        }
         // If a plan is found update the statistics of the planner and log search information
         if (plan != null) {
             LOGGER.info("* MCTS search succeeded\n");
@@ -388,52 +1072,239 @@ public class MCTS extends AbstractPlanner {
             throw new ProblemNotSupportedException("Problem not supported");
         }
 
-        // First we create an instance of the heuristic to use to guide the search.
-        final StateHeuristic heuristic = StateHeuristic.getInstance(this.getHeuristic(), problem);
+        // We start the deadline polled by the walks, so the time to build the workers is counted too, and the random
+        // number generator of the search.
+        final Deadline deadline = this.startDeadline();
+        this.random = this.startRandom();
+        final SearchMetrics metrics = this.startMetrics();
 
         // We get the initial state from the planning problem.
         final State initialState = new State(problem.getInitialState());
 
         // Get the goal of the problem.
         final Condition goal = problem.getGoal();
+        List<Action> availableActions = problem.getActions();
+        final SuccessorGenerator generator = this.getSuccessorGenerator(availableActions);
+
+        // Create one walk worker by thread, each one with its own instance of the heuristic and its own
+        // transposition table. With the MHA policy, the heuristic of each worker is its own FF heuristic computing
+        // the helpful actions.
+        final ZobristHash zobrist = new ZobristHash(problem.getFluents().size());
+        final List<WalkWorker> workers = new ArrayList<WalkWorker>(this.getThreads());
+        for (int i = 0; i < this.getThreads(); i++) {
+            final RelaxedPlanHeuristic relaxed = (this.getPolicy() == WalkPolicy.MHA)
+                ? this.getRelaxedPlanHeuristic(problem) : null;
+            workers.add(new WalkWorker(this, this.getHeuristicInstance(problem, relaxed), relaxed,
+                                       goal, availableActions, this.getApplicabilityTracker(availableActions), zobrist,
+                                       (this.getTableSize() > 0) ? new TranspositionTable(this.getTableSize()) : null));
+        }
+        if (this.getTableSize() > 0) {
+            metrics.setSizes(null, () -> workers.stream().mapToLong(WalkWorker::getTableSize).sum());
+        }
 
-        // We create the root node of the tree search
-        final Node root = new Node(initialState, null, -1, 0, heuristic.estimate(initialState, goal));
+        // We create the root node of the tree search, evaluated with the heuristic of the walks.
+        final Node root = new Node(initialState, null, -1, 0,
+                                   workers.get(0).getHeuristic().estimate(initialState, goal));
 
-        // Initialize the current state, the minimum heuristic value, the goal of the problem, the counter and the available actions.
+        // Initialize the current state, the minimum heuristic value, the counter, the controller of the walks, the
+        // best plan found by the anytime mode and the cache of the states of the nodes reached by the jumps.
+        final WalkController controller = new WalkController(this);
+        final Node.Cache states = new Node.Cache();
+        Plan incumbent = null;
         int counter = 0;
         Node currentLoopState = root; 
         double hmin = root.getHeuristic();
-        List<Action> availableActions = problem.getActions();
-        long startSearchTime = System.currentTimeMillis();
-        long currentSearchTime = System.currentTimeMillis();
-
-        // Loop until we find a solution to the problem.
-        while (!currentLoopState.satisfy(goal) && ((currentSearchTime - startSearchTime)/1000L < getMaxSearchTime())) {
-            // Reset the current state and counter if we do too much steps or the state is in a dead-end.
-            if (counter > this.getMaxSteps() || this.applicableActions(currentLoopState, availableActions).isEmpty()) {
-                currentLoopState = root;
-                counter = 0;
-            }
+        final ExecutorService executor = (this.getThreads() > 1) ? Executors.newFixedThreadPool(this.getThreads()) : null;
 
-            // Execute the pureRandomWalks for the current state.
-            currentLoopState = pureRandomWalks(currentLoopState, heuristic, goal, availableActions);
+        try {
+            // Loop until we find a solution to the problem, or until the maximum search time in anytime mode.
+            while (!deadline.isExpired()) {
+                if (currentLoopState.getState(states).satisfy(goal)) {
+                    Plan plan = this.extractPlan(currentLoopState, problem);
+                    if (plan != null) {
+                        GoalEvent.record(plan.size(), deadline.getElapsedTime(), this.getMode());
+                    }
+                    if (!this.isAnytime() || plan == null) {
+                        incumbent = plan;
+                        break;
+                    }
+                    // The walks only reach the goal with a cost lower than the incumbent, so the plan is shorter. We
+                    // optimize it right away so that its length bounds the following walks more tightly.
+                    if (this.isOptimizePlan()) {
+                        plan = new PlanOptimizer(problem).optimize(plan);
+                    }
+                    incumbent = plan;
+                    this.notifyPlan(plan, deadline.getElapsedTime());
+                    if (plan.size() <= 1) {
+                        break;
+                    }
+                    // We restart from the root, pruning the nodes that cannot lead to a shorter plan.
+                    for (WalkWorker worker : workers) {
+                        worker.setBound(plan.size());
+                        worker.restart();
+                    }
+                    RestartEvent.record(RestartEvent.PLAN_FOUND, currentLoopState, counter);
+                    currentLoopState = root;
+                    hmin = root.getHeuristic();
+                    counter = 0;
+                    controller.restart();
+                    metrics.restarted();
+                }
+
+                // Reset the current state and counter if we do too much steps or the state is in a dead-end.
+                final String reason = (counter > controller.getMaxSteps()) ? RestartEvent.MAX_STEPS
+                    : (incumbent != null && currentLoopState.getCost() + 1 >= incumbent.size()) ? RestartEvent.BOUND
+                    : generator.applicableActions(currentLoopState.getState(states)).isEmpty() ? RestartEvent.DEAD_END
+                    : null;
+                if (reason != null) {
+                    RestartEvent.record(reason, currentLoopState, counter);
+                    currentLoopState = root;
+                    counter = 0;
+                    controller.restart();
+                    metrics.restarted();
+                    for (WalkWorker worker : workers) {
+                        worker.restart();
+                    }
+                }
+
+                // Execute the pureRandomWalks for the current state, which counts as its expansion, and record the
+                // jump as an event of the flight recorder.
+                metrics.expanded();
+                final JumpEvent jump = new JumpEvent();
+                jump.begin();
+                final Node start = currentLoopState;
+                final int numWalk = controller.getNumWalk();
+                final int lengthWalk = controller.getLengthWalk();
+                currentLoopState = pureRandomWalks(currentLoopState, workers, executor, numWalk, lengthWalk);
+                jump.end();
+                final boolean improved = currentLoopState.getHeuristic() < hmin;
+                if (jump.shouldCommit()) {
+                    jump.walks = numWalk;
+                    jump.lengthWalk = lengthWalk;
+                    jump.startCost = (int) start.getCost();
+                    jump.startHeuristic = (int) start.getHeuristic();
+                    jump.bestHeuristic = (int) currentLoopState.getHeuristic();
+                    jump.improved = improved;
+                    jump.steps = counter;
+                    jump.commit();
+                }
+
+                // If the path we evaluate is worthier than the last best one then we replace it and reset the counter.
+                if (improved) {
+                    hmin = currentLoopState.getHeuristic();
+                    counter = 0;
+                    controller.jump(true);
+                }
+                else {
+                    counter++;
+                    controller.jump(false);
+                }
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            metrics.freezeSizes();
+            for (WalkWorker worker : workers) {
+                worker.release();
+            }
+        }
+        if (this.isAdaptive()) {
+            LOGGER.info("* Adaptive walks: " + controller + "\n");
+        }
 
-            // If the path we evaluate is worthier than the last best one then we replace it and reset the counter.
-            if (currentLoopState.getHeuristic() < hmin) {
-                hmin = currentLoopState.getHeuristic();
-                counter = 0;
+        // The last walks may have reached the goal when the search was stopped.
+        if (currentLoopState.getState(states).satisfy(goal) && currentLoopState.getAction() != -1
+            && (incumbent == null || currentLoopState.getCost() < incumbent.size())) {
+            incumbent = this.extractPlan(currentLoopState, problem);
+            if (incumbent != null) {
+                GoalEvent.record(incumbent.size(), deadline.getElapsedTime(), this.getMode());
+                // In anytime mode, the listener receives the plan returned, so it is optimized before.
+                if (this.isAnytime()) {
+                    if (this.isOptimizePlan()) {
+                        incumbent = new PlanOptimizer(problem).optimize(incumbent);
+                    }
+                    this.notifyPlan(incumbent, deadline.getElapsedTime());
+                }
             }
-            else
-                counter++;
-            currentSearchTime = System.currentTimeMillis();
         }
 
-        // Finally, we return the search computed or null if no search was found
-        if ((currentSearchTime - startSearchTime)/1000L >= getMaxSearchTime()) {
-            return null;
+        // Finally, we return the best plan found or null if no plan was found in time, forgetting the states cached.
+        states.clear();
+        return incumbent;
+    }
+
+    /**
+     * Starts the deadline of a new search from the maximum search time of the planner.
+     *
+     * @return the deadline of the new search.
+     */
+    private Deadline startDeadline() {
+        final Deadline deadline = new Deadline(this.getMaxSearchTime() * 1000L);
+        this.deadline = deadline;
+        return deadline;
+    }
+
+    /**
+     * Creates the metrics of a new search and publishes them as an MBean, replacing the metrics of the previous
+     * search. The search runs unmeasured by JMX if the metrics cannot be published.
+     *
+     * @return the metrics of the new search.
+     */
+    private SearchMetrics startMetrics() {
+        final SearchMetrics metrics = new SearchMetrics(MCTS.class.getSimpleName());
+        try {
+            metrics.register();
+        } catch (JMException | SecurityException e) {
+            LOGGER.info("* Search metrics not published: " + e.getMessage() + "\n");
+        }
+        this.metrics = metrics;
+        return metrics;
+    }
+
+    /**
+     * Creates the random number generator of a new search from the seed of the planner. The seed drawn is logged
+     * when the planner has no seed, so the search can be reproduced.
+     *
+     * @return the random number generator of the new search.
+     */
+    private SplittableRandom startRandom() {
+        long seed = this.getSeed();
+        if (seed == 0L) {
+            seed = new SplittableRandom().nextLong();
+            LOGGER.info("* Random seed: " + seed + "\n");
+        }
+        return new SplittableRandom(seed);
+    }
+
+    /**
+     * Reports a plan found by the anytime mode to the listener of the planner, or logs it if there is no listener.
+     *
+     * @param plan the plan found.
+     * @param time the time elapsed since the beginning of the search in ms.
+     */
+    private void notifyPlan(Plan plan, long time) {
+        if (this.planListener != null) {
+            this.planListener.planFound(plan, time);
+        } else {
+            LOGGER.info("* Plan of length " + plan.size() + " found after " + time + " ms\n");
+        }
+    }
+
+    /**
+     * Search a solution plan for a planning problem using a tree-parallel UCT search strategy.
+     *
+     * @param problem the problem to solve.
+     * @return a plan solution for the problem or null if there is no solution.
+     * @throws ProblemNotSupportedException if the problem to solve is not supported by the planner.
+     */
+    public Plan uct(Problem problem) throws ProblemNotSupportedException {
+        // Check if the problem is supported by the planner.
+        if (!this.isSupported(problem)) {
+            throw new ProblemNotSupportedException("Problem not supported");
         }
-        return this.extractPlan(currentLoopState, problem);
+        this.startMetrics();
+        return new UCTSearch(this, problem).search(this.startDeadline(), this.startRandom());
     }
 
     /**
@@ -446,48 +1317,99 @@ public class MCTS extends AbstractPlanner {
      * @return a state found with the minimum heuristic value or the input state if nothing better was found.
      */
     public Node pureRandomWalks(Node currentState, StateHeuristic heuristic, Condition goal, List<Action> actions) {
-        // We initialize the minimum heuristic and state value as well as the current state.
-        double hmin = Double.MAX_VALUE;
-        Node smin = null;
-        Node currentLoopState = null;
+        final List<WalkWorker> workers = new ArrayList<WalkWorker>(1);
+        workers.add(new WalkWorker(this, heuristic, null, goal, actions, this.getApplicabilityTracker(actions),
+                                   null, null));
+        return this.pureRandomWalks(currentState, workers, null);
+    }
 
-        // We initialize the random number generator used for the selection of actions.
-        Random randomGenerator = new Random();
-        
-        // We loop until we reach the maximum number of walk that we defined at the start of the MCTS.
-        for (int i = 0; i < this.getNumWalk(); i++) {
-            //We reset the current state to be at the inital state of the function to explore a new branch of the tree.
-            currentLoopState = currentState;
-            // We loop until we reach the maximum length of a walk that we defined at the start of the MCTS.
-            for (int j = 0; j < this.getLengthWalk(); j++) {
-                // We get the all the applicables actions of the problem at this state.
-                List<Integer> applicableActions = this.applicableActions(currentLoopState, actions);
-                
-                // Check if their is any applicable actions for this state.
-                if (applicableActions == null || applicableActions.isEmpty())
-                    break;
-
-                // We uniformly random select an action from the applicable action pool.
-                int choosenAction = applicableActions.get(randomGenerator.nextInt(applicableActions.size()));
-                
-                // We create the new node of the tree from the current one.
-                currentLoopState = new Node(currentLoopState, currentLoopState, choosenAction,
-                                            currentLoopState.getCost() + 1, currentLoopState.getHeuristic());
-
-                // We apply the effect of the action and update the heuristic acordingly.
-                currentLoopState.apply(actions.get(choosenAction).getConditionalEffects());
-                currentLoopState.setHeuristic(heuristic.estimate(currentLoopState, goal));
-
-                // If the new state satisfy the goal condition then we have found a solution.
-                if (currentLoopState.satisfy(goal))
-                    return currentLoopState;
+    /**
+     * Explore new substates to find a worthy state to continue the tree with using pure random walks. The walks are
+     * spread over the workers and run in parallel when an executor is given: the walks are numbered and the worker
+     * <code>i</code> of <code>T</code> runs the walks <code>i</code>, <code>i + T</code>, <code>i + 2T</code> and so
+     * on. Each worker keeps its own best state and the results are reduced to the state with the minimum heuristic
+     * value. As soon as a walk reaches the goal, every worker stops before its next walk with a higher number, and
+     * the goal reached by the walk with the lowest number is returned.
+     *
+     * <p>Each worker gets a new random number generator split in order from the generator of the search before the
+     * walks, so the walks of a worker do not depend on the walks of the other workers, nor on the time at which its
+     * previous walks were stopped. The walks with a higher number than the goal reached are forgotten by the MDA
+     * policy. With a seed, the search is then reproducible for a given number of threads.</p>
+     *
+     * @param currentState the actual state of the MCTS we need to explore from.
+     * @param workers the workers used to run the walks.
+     * @param executor the executor used to run the workers in parallel or null to run a single worker in the
+     *                 calling thread.
+     * @return a state found with the minimum heuristic value or the input state if nothing better was found.
+     */
+    public Node pureRandomWalks(Node currentState, List<WalkWorker> workers, ExecutorService executor) {
+        return this.pureRandomWalks(currentState, workers, executor, this.getNumWalk(), this.getLengthWalk());
+    }
+
+    /**
+     * Explore new substates to find a worthy state to continue the tree with using pure random walks of a given
+     * number and length.
+     *
+     * @param currentState the actual state of the MCTS we need to explore from.
+     * @param workers the workers used to run the walks.
+     * @param executor the executor used to run the workers in parallel or null to run a single worker in the
+     *                 calling thread.
+     * @param numWalk the number of walks to run.
+     * @param lengthWalk the maximum length of a walk.
+     * @return a state found with the minimum heuristic value or the input state if nothing better was found.
+     */
+    public Node pureRandomWalks(Node currentState, List<WalkWorker> workers, ExecutorService executor,
+                                int numWalk, int lengthWalk) {
+        final AtomicInteger winner = new AtomicInteger(Integer.MAX_VALUE);
+        final Node[] results = new Node[workers.size()];
+
+        // We split a random number generator for each worker from the generator of the search.
+        if (this.random == null) {
+            this.random = this.startRandom();
+        }
+        for (WalkWorker worker : workers) {
+            worker.setRandomGenerator(this.random.split());
+        }
+
+        final int step = (executor == null) ? 1 : workers.size();
+        if (step == 1) {
+            // We run all the walks in the calling thread.
+            results[0] = workers.get(0).walks(currentState, numWalk, lengthWalk, 0, 1, winner);
+        } else {
+            // We interleave the walks over the workers.
+            final List<Callable<Node>> tasks = new ArrayList<Callable<Node>>(workers.size());
+            for (int i = 0; i < workers.size(); i++) {
+                final WalkWorker worker = workers.get(i);
+                final int first = i;
+                tasks.add(() -> worker.walks(currentState, numWalk, lengthWalk, first, step, winner));
             }
+            try {
+                final List<Future<Node>> futures = executor.invokeAll(tasks);
+                for (int i = 0; i < futures.size(); i++) {
+                    results[i] = futures.get(i).get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return currentState;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
 
-            // If the path we evaluate is worthier than the last best one then we replace it.
-            if (currentLoopState.getHeuristic() < hmin) {
-                smin = currentLoopState;
-                hmin = currentLoopState.getHeuristic();
+        // If a walk has reached the goal we forget the walks with a higher number and return the state reached by
+        // the walk with the lowest number, found by the worker that ran it.
+        if (winner.get() != Integer.MAX_VALUE) {
+            for (int i = 0; i < step; i++) {
+                workers.get(i).discard(winner.get());
             }
+            return results[winner.get() % step];
+        }
+
+        // We reduce the best states of the workers to the one with the minimum heuristic value.
+        Node smin = null;
+        for (Node result : results) {
+            if (result != null && (smin == null || result.getHeuristic() < smin.getHeuristic()))
+                smin = result;
         }
 
         // We return the best state we found if any, otherwise we return the inital state of the function.
@@ -495,7 +1417,81 @@ public class MCTS extends AbstractPlanner {
     }
 
     /**
-     * Evaluate applicable actions in an action list for a specific state.
+     * Returns the successor generator of a list of actions. The generator is built once and reused as long as the
+     * planner works on the same list of actions.
+     *
+     * @param actions the actions available from the problem.
+     * @return the successor generator of the actions.
+     */
+    public SuccessorGenerator getSuccessorGenerator(List<Action> actions) {
+        if (this.generatorActions != actions) {
+            this.generator = new SuccessorGenerator(actions);
+            this.tracker = new ApplicabilityTracker(actions);
+            this.generatorActions = actions;
+        }
+        return this.generator;
+    }
+
+    /**
+     * Returns a new instance of the heuristic of the planner. When the heuristic values are cached, the instance is
+     * decorated with the cache of the current search, so the instances given to the threads share the same values.
+     *
+     * @param problem the problem to solve.
+     * @return a new instance of the heuristic.
+     */
+    public StateHeuristic getHeuristicInstance(Problem problem) {
+        return this.getHeuristicInstance(problem, null);
+    }
+
+    /**
+     * Returns a new instance of the heuristic of the planner or the given FF heuristic, counted in the metrics of the
+     * running search. The heuristic of the planner is decorated with the cache of the current search when the
+     * heuristic values are cached. The FF heuristic is not, since a value found in the cache would give no helpful
+     * actions, and which thread computes a value first would then change the walks.
+     *
+     * @param problem the problem to solve.
+     * @param relaxed the FF heuristic computing the helpful actions or null to use the heuristic of the planner.
+     * @return a new instance of the heuristic.
+     */
+    public StateHeuristic getHeuristicInstance(Problem problem, RelaxedPlanHeuristic relaxed) {
+        StateHeuristic heuristic = (relaxed != null)
+            ? relaxed : StateHeuristic.getInstance(this.getHeuristic(), problem);
+        if (this.heuristicCache != null && relaxed == null) {
+            heuristic = new CachedHeuristic(heuristic, this.heuristicCache);
+        }
+        return (this.metrics == null) ? heuristic : new MeteredHeuristic(heuristic, this.metrics);
+    }
+
+    /**
+     * Returns a new FF heuristic computing the helpful actions of the states. The relaxed operators are built once
+     * and shared as long as the planner works on the same problem.
+     *
+     * @param problem the problem to solve.
+     * @return a new FF heuristic.
+     */
+    public RelaxedPlanHeuristic getRelaxedPlanHeuristic(Problem problem) {
+        if (this.relaxedProblem != problem) {
+            this.relaxedPlan = new RelaxedPlanHeuristic(problem);
+            this.relaxedProblem = problem;
+        }
+        return new RelaxedPlanHeuristic(this.relaxedPlan);
+    }
+
+    /**
+     * Returns a new tracker of the actions applicable along the walks. The trackers returned for the same list of
+     * actions share their watch lists, so building a tracker for each worker is cheap.
+     *
+     * @param actions the actions available from the problem.
+     * @return a new tracker of the applicable actions.
+     */
+    public ApplicabilityTracker getApplicabilityTracker(List<Action> actions) {
+        this.getSuccessorGenerator(actions);
+        return new ApplicabilityTracker(this.tracker);
+    }
+
+    /**
+     * Evaluate applicable actions in an action list for a specific state. This method scans the whole action pool,
+     * the search itself uses the successor generator of the actions instead.
      *
      * @param evaluatedState the state that we need to evaluate applicable actions from.
      * @param actionPool the pool of actions to evaluate.
@@ -553,8 +1549,21 @@ public class MCTS extends AbstractPlanner {
         config.setProperty(MCTS.WEIGHT_HEURISTIC_SETTING, Double.toString(this.getHeuristicWeight()));
         config.setProperty(MCTS.NUM_WALK_SETTING, Integer.toString(this.getNumWalk()));
         config.setProperty(MCTS.LENGTH_WALK_SETTING, Integer.toString(this.getLengthWalk()));
+        config.setProperty(MCTS.EVALUATION_SETTING, this.getEvaluation().toString());
+        config.setProperty(MCTS.POLICY_SETTING, this.getPolicy().toString());
+        config.setProperty(MCTS.HELPFUL_PROBABILITY_SETTING, Double.toString(this.getHelpfulProbability()));
+        config.setProperty(MCTS.TEMPERATURE_SETTING, Double.toString(this.getTemperature()));
+        config.setProperty(MCTS.THREADS_SETTING, Integer.toString(this.getThreads()));
+        config.setProperty(MCTS.SEED_SETTING, Long.toString(this.getSeed()));
         config.setProperty(MCTS.MAX_STEPS_SETTING, Integer.toString(this.getMaxSteps()));
+        config.setProperty(MCTS.ADAPTIVE_SETTING, Boolean.toString(this.isAdaptive()));
+        config.setProperty(MCTS.ANYTIME_SETTING, Boolean.toString(this.isAnytime()));
+        config.setProperty(MCTS.OPTIMIZE_PLAN_SETTING, Boolean.toString(this.isOptimizePlan()));
         config.setProperty(MCTS.MAX_SEARCH_TIME_SETTING, Long.toString(this.getMaxSearchTime()));
+        config.setProperty(MCTS.MODE_SETTING, this.getMode().toString());
+        config.setProperty(MCTS.EXPLORATION_SETTING, Double.toString(this.getExploration()));
+        config.setProperty(MCTS.TABLE_SIZE_SETTING, Integer.toString(this.getTableSize()));
+        config.setProperty(MCTS.HEURISTIC_CACHE_SETTING, Integer.toString(this.getHeuristicCacheSize()));
         return config;
     }
 
@@ -591,18 +1600,96 @@ public class MCTS extends AbstractPlanner {
             this.setLengthWalk(Integer.parseInt(configuration.getProperty(
                 MCTS.LENGTH_WALK_SETTING)));
         }
+        if (configuration.getProperty(MCTS.EVALUATION_SETTING) == null) {
+            this.setEvaluation(MCTS.DEFAULT_EVALUATION);
+        } else {
+            this.setEvaluation(Evaluation.valueOf(configuration.getProperty(
+                MCTS.EVALUATION_SETTING)));
+        }
+        if (configuration.getProperty(MCTS.POLICY_SETTING) == null) {
+            this.setPolicy(MCTS.DEFAULT_POLICY);
+        } else {
+            this.setPolicy(WalkPolicy.valueOf(configuration.getProperty(
+                MCTS.POLICY_SETTING)));
+        }
+        if (configuration.getProperty(MCTS.HELPFUL_PROBABILITY_SETTING) == null) {
+            this.setHelpfulProbability(MCTS.DEFAULT_HELPFUL_PROBABILITY);
+        } else {
+            this.setHelpfulProbability(Double.parseDouble(configuration.getProperty(
+                MCTS.HELPFUL_PROBABILITY_SETTING)));
+        }
+        if (configuration.getProperty(MCTS.TEMPERATURE_SETTING) == null) {
+            this.setTemperature(MCTS.DEFAULT_TEMPERATURE);
+        } else {
+            this.setTemperature(Double.parseDouble(configuration.getProperty(
+                MCTS.TEMPERATURE_SETTING)));
+        }
+        if (configuration.getProperty(MCTS.THREADS_SETTING) == null) {
+            this.setThreads(MCTS.DEFAULT_THREADS);
+        } else {
+            this.setThreads(Integer.parseInt(configuration.getProperty(
+                MCTS.THREADS_SETTING)));
+        }
+        if (configuration.getProperty(MCTS.SEED_SETTING) == null) {
+            this.setSeed(MCTS.DEFAULT_SEED);
+        } else {
+            this.setSeed(Long.parseLong(configuration.getProperty(
+                MCTS.SEED_SETTING)));
+        }
         if (configuration.getProperty(MCTS.MAX_STEPS_SETTING) == null) {
             this.setMaxSteps(MCTS.DEFAULT_MAX_STEPS);
         } else {
             this.setMaxSteps(Integer.parseInt(configuration.getProperty(
                 MCTS.MAX_STEPS_SETTING)));
         }
+        if (configuration.getProperty(MCTS.ADAPTIVE_SETTING) == null) {
+            this.setAdaptive(MCTS.DEFAULT_ADAPTIVE);
+        } else {
+            this.setAdaptive(Boolean.parseBoolean(configuration.getProperty(
+                MCTS.ADAPTIVE_SETTING)));
+        }
+        if (configuration.getProperty(MCTS.ANYTIME_SETTING) == null) {
+            this.setAnytime(MCTS.DEFAULT_ANYTIME);
+        } else {
+            this.setAnytime(Boolean.parseBoolean(configuration.getProperty(
+                MCTS.ANYTIME_SETTING)));
+        }
+        if (configuration.getProperty(MCTS.OPTIMIZE_PLAN_SETTING) == null) {
+            this.setOptimizePlan(MCTS.DEFAULT_OPTIMIZE_PLAN);
+        } else {
+            this.setOptimizePlan(Boolean.parseBoolean(configuration.getProperty(
+                MCTS.OPTIMIZE_PLAN_SETTING)));
+        }
         if (configuration.getProperty(MCTS.MAX_SEARCH_TIME_SETTING) == null) {
             this.setMaxSearchTime(MCTS.DEFAULT_MAX_SEARCH_TIME);
         } else {
             this.setMaxSearchTime(Long.parseLong(configuration.getProperty(
                 MCTS.MAX_SEARCH_TIME_SETTING)));
         }
+        if (configuration.getProperty(MCTS.MODE_SETTING) == null) {
+            this.setMode(MCTS.DEFAULT_MODE);
+        } else {
+            this.setMode(Mode.valueOf(configuration.getProperty(
+                MCTS.MODE_SETTING)));
+        }
+        if (configuration.getProperty(MCTS.EXPLORATION_SETTING) == null) {
+            this.setExploration(MCTS.DEFAULT_EXPLORATION);
+        } else {
+            this.setExploration(Double.parseDouble(configuration.getProperty(
+                MCTS.EXPLORATION_SETTING)));
+        }
+        if (configuration.getProperty(MCTS.TABLE_SIZE_SETTING) == null) {
+            this.setTableSize(MCTS.DEFAULT_TABLE_SIZE);
+        } else {
+            this.setTableSize(Integer.parseInt(configuration.getProperty(
+                MCTS.TABLE_SIZE_SETTING)));
+        }
+        if (configuration.getProperty(MCTS.HEURISTIC_CACHE_SETTING) == null) {
+            this.setHeuristicCacheSize(MCTS.DEFAULT_HEURISTIC_CACHE);
+        } else {
+            this.setHeuristicCacheSize(Integer.parseInt(configuration.getProperty(
+                MCTS.HEURISTIC_CACHE_SETTING)));
+        }
     }
 
     /**
@@ -617,8 +1704,21 @@ public class MCTS extends AbstractPlanner {
         config.setProperty(MCTS.WEIGHT_HEURISTIC_SETTING, Double.toString(MCTS.DEFAULT_WEIGHT_HEURISTIC));
         config.setProperty(MCTS.NUM_WALK_SETTING, Integer.toString(MCTS.DEFAULT_NUM_WALK));
         config.setProperty(MCTS.LENGTH_WALK_SETTING, Integer.toString(MCTS.DEFAULT_LENGTH_WALK));
+        config.setProperty(MCTS.EVALUATION_SETTING, MCTS.DEFAULT_EVALUATION.toString());
+        config.setProperty(MCTS.POLICY_SETTING, MCTS.DEFAULT_POLICY.toString());
+        config.setProperty(MCTS.HELPFUL_PROBABILITY_SETTING, Double.toString(MCTS.DEFAULT_HELPFUL_PROBABILITY));
+        config.setProperty(MCTS.TEMPERATURE_SETTING, Double.toString(MCTS.DEFAULT_TEMPERATURE));
+        config.setProperty(MCTS.THREADS_SETTING, Integer.toString(MCTS.DEFAULT_THREADS));
+        config.setProperty(MCTS.SEED_SETTING, Long.toString(MCTS.DEFAULT_SEED));
         config.setProperty(MCTS.MAX_STEPS_SETTING, Integer.toString(MCTS.DEFAULT_MAX_STEPS));
+        config.setProperty(MCTS.ADAPTIVE_SETTING, Boolean.toString(MCTS.DEFAULT_ADAPTIVE));
+        config.setProperty(MCTS.ANYTIME_SETTING, Boolean.toString(MCTS.DEFAULT_ANYTIME));
+        config.setProperty(MCTS.OPTIMIZE_PLAN_SETTING, Boolean.toString(MCTS.DEFAULT_OPTIMIZE_PLAN));
         config.setProperty(MCTS.MAX_SEARCH_TIME_SETTING, Long.toString(MCTS.DEFAULT_MAX_SEARCH_TIME));
+        config.setProperty(MCTS.MODE_SETTING, MCTS.DEFAULT_MODE.toString());
+        config.setProperty(MCTS.EXPLORATION_SETTING, Double.toString(MCTS.DEFAULT_EXPLORATION));
+        config.setProperty(MCTS.TABLE_SIZE_SETTING, Integer.toString(MCTS.DEFAULT_TABLE_SIZE));
+        config.setProperty(MCTS.HEURISTIC_CACHE_SETTING, Integer.toString(MCTS.DEFAULT_HEURISTIC_CACHE));
         return config;
     }
 
@@ -631,7 +1731,17 @@ public class MCTS extends AbstractPlanner {
      * (4) the heuristic is a not null,
      * (5) the number of walk is greater than 0,
      * (6) the length of walk is greater than 0,
-     * (7) the maximum number of steps is greater than 0.
+     * (7) the maximum number of steps is greater than 0,
+     * (8) the maximum search time is greater than 0,
+     * (9) the number of threads is greater than 0,
+     * (10) the search mode is not null,
+     * (11) the exploration constant is positive,
+     * (12) the size of the transposition table is positive,
+     * (13) the memory bound of the heuristic cache is positive,
+     * (14) the evaluation of the walks is not null,
+     * (15) the walk policy is not null,
+     * (16) the probability to select a helpful action is between 0 and 1,
+     * (17) the temperature of the MDA policy is greater than 0.
      *
      * @return <code>true</code> if the configuration is valid <code>false</code> otherwise.
      */
@@ -642,6 +1752,16 @@ public class MCTS extends AbstractPlanner {
             && this.getNumWalk() > 0
             && this.getLengthWalk() > 0
             && this.getMaxSteps() > 0
-            && this.getMaxSearchTime() > 0L;
+            && this.getMaxSearchTime() > 0L
+            && this.getThreads() > 0
+            && this.getMode() != null
+            && this.getExploration() >= 0.0
+            && this.getTableSize() >= 0
+            && this.getHeuristicCacheSize() >= 0
+            && this.getEvaluation() != null
+            && this.getPolicy() != null
+            && this.getHelpfulProbability() >= 0.0
+            && this.getHelpfulProbability() <= 1.0
+            && this.getTemperature() > 0.0;
     }
 }
\ No newline at end of file
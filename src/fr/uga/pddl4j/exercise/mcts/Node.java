@@ -2,13 +2,71 @@ package fr.uga.pddl4j.exercise.mcts;
 
 import fr.uga.pddl4j.problem.State;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * This class implements a node of the tree search.
  *
+ * <p>A node created from its parent does not store its state but only the facts changed by its action, so that the
+ * long chains of nodes built by the walks do not keep a full copy of the facts at each step. The state of such a node
+ * is rebuilt on demand from the closest ancestor whose state is known, and the last states rebuilt can be kept in a
+ * small {@link Cache}. A cache is owned by a single thread of a search, so it needs no lock, and is cleared when the
+ * search ends so that it does not keep the nodes alive.</p>
+ *
  * @author D. Pellier
  * @version 1.0 - 02.12.2021
  */
-public final class Node extends State {
+public final class Node {
+
+    /**
+     * The number of states rebuilt kept in the cache.
+     */
+    public static final int CACHE_SIZE = 64;
+
+    /**
+     * This class implements a cache of the last states rebuilt from the deltas of the nodes. A cache is not
+     * thread-safe and must be owned by a single thread.
+     */
+    public static final class Cache {
+
+        /**
+         * The last states rebuilt, ordered from the least to the most recently accessed.
+         */
+        private final Map<Node, State> states;
+
+        /**
+         * Creates a new empty cache of <code>CACHE_SIZE</code> states.
+         */
+        public Cache() {
+            this.states = new LinkedHashMap<Node, State>(Node.CACHE_SIZE * 2, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Node, State> eldest) {
+                    return this.size() > Node.CACHE_SIZE;
+                }
+            };
+        }
+
+        /**
+         * Forgets the states cached, and the nodes they are attached to.
+         */
+        public void clear() {
+            this.states.clear();
+        }
+    }
+
+    /**
+     * The state of the node or null if the node only stores the facts changed from its parent.
+     */
+    private final State state;
+
+    /**
+     * The facts changed by the action from the state of the parent, a fact added being encoded as
+     * <code>2f + 1</code> and a fact deleted as <code>2f</code>.
+     */
+    private final int[] delta;
 
     /**
      * The parent node of this node.
@@ -41,7 +99,8 @@ public final class Node extends State {
      * @param state the state.
      */
     public Node(State state) {
-        super(state);
+        this.state = new State(state);
+        this.delta = null;
     }
 
     /**
@@ -55,7 +114,8 @@ public final class Node extends State {
      * @param heuristic the estimated distance to reach the goal from the node.
      */
     public Node(State state, Node parent, int action, double cost, double heuristic) {
-        super(state);
+        this.state = new State(state);
+        this.delta = null;
         this.parent = parent;
         this.action = action;
         this.cost = cost;
@@ -75,7 +135,8 @@ public final class Node extends State {
      * @param heuristic the estimated distance to reach the goal from the node.
      */
     public Node(State state, Node parent, int action, double cost, int depth, double heuristic) {
-        super(state);
+        this.state = new State(state);
+        this.delta = null;
         this.parent = parent;
         this.action = action;
         this.cost = cost;
@@ -83,6 +144,80 @@ public final class Node extends State {
         this.heuristic = heuristic;
     }
 
+    /**
+     * Creates a new node from its parent node and the facts changed by the action applied to reach it.
+     *
+     * @param parent    the parent node of the node.
+     * @param action    the action applied to reached the node from its parent.
+     * @param delta     the facts changed by the action, a fact added being encoded as <code>2f + 1</code> and a fact
+     *                  deleted as <code>2f</code>.
+     * @param cost      the cost to reach the node from the root node.
+     * @param heuristic the estimated distance to reach the goal from the node.
+     */
+    public Node(Node parent, int action, int[] delta, double cost, double heuristic) {
+        this.state = null;
+        this.delta = delta;
+        this.parent = parent;
+        this.action = action;
+        this.cost = cost;
+        this.heuristic = heuristic;
+        this.depth = -1;
+    }
+
+    /**
+     * Returns the state of the node. The state of a node storing only its delta is rebuilt from the closest ancestor
+     * whose state is stored, without being cached. The state returned may be shared and must not be modified.
+     *
+     * @return the state of the node.
+     */
+    public State getState() {
+        return this.getState(null);
+    }
+
+    /**
+     * Returns the state of the node. The state of a node storing only its delta is rebuilt from the closest ancestor
+     * whose state is stored or cached, and is then cached. The state returned may be shared and must not be
+     * modified.
+     *
+     * @param cache the cache of the states rebuilt of the calling thread or null to not cache the state.
+     * @return the state of the node.
+     */
+    public State getState(Cache cache) {
+        if (this.state != null) {
+            return this.state;
+        }
+        State cached = (cache == null) ? null : cache.states.get(this);
+        if (cached != null) {
+            return cached;
+        }
+
+        // We go up to the closest ancestor whose state is known.
+        final Deque<Node> path = new ArrayDeque<Node>();
+        Node n = this;
+        State base = null;
+        while (base == null) {
+            path.push(n);
+            n = n.parent;
+            base = (n.state != null || cache == null) ? n.state : cache.states.get(n);
+        }
+
+        // We replay the deltas of the nodes down to this node.
+        final State rebuilt = new State(base);
+        while (!path.isEmpty()) {
+            for (int flip : path.pop().delta) {
+                if ((flip & 1) == 1) {
+                    rebuilt.set(flip >>> 1);
+                } else {
+                    rebuilt.clear(flip >>> 1);
+                }
+            }
+        }
+        if (cache != null) {
+            cache.states.put(this, rebuilt);
+        }
+        return rebuilt;
+    }
+
     /**
      * Returns the action applied to reach the node.
      *
@@ -0,0 +1,23 @@
+package fr.uga.pddl4j.exercise.mcts;
+
+import fr.uga.pddl4j.plan.Plan;
+
+/**
+ * This interface is implemented by the callers of the MCTS planner that want to receive the plans found by the
+ * anytime mode as soon as they are found. Each plan notified is strictly shorter than the previous one.
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+@FunctionalInterface
+public interface PlanListener {
+
+    /**
+     * Called by the planner each time it finds a plan strictly shorter than the previous one. The method is called by
+     * the thread running the search, which waits for it to return.
+     *
+     * @param plan the plan found.
+     * @param time the time elapsed since the beginning of the search in ms.
+     */
+    void planFound(Plan plan, long time);
+}
@@ -0,0 +1,84 @@
+package fr.uga.pddl4j.exercise.mcts;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * This class implements the Java Flight Recorder event of a restart of the MCTS planner from the root of the search.
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+@Name("fr.uga.pddl4j.exercise.mcts.Restart")
+@Label("MCTS Restart")
+@Category({"PDDL4J", "MCTS"})
+@Description("Restart of the MCTS search from the root")
+@StackTrace(false)
+public final class RestartEvent extends Event {
+
+    /**
+     * The reason of a restart after too many jumps without improvement.
+     */
+    public static final String MAX_STEPS = "maxSteps";
+
+    /**
+     * The reason of a restart from a state with no applicable action.
+     */
+    public static final String DEAD_END = "deadEnd";
+
+    /**
+     * The reason of a restart from a state that cannot lead to a plan shorter than the best plan found.
+     */
+    public static final String BOUND = "bound";
+
+    /**
+     * The reason of a restart after a plan was found by the anytime mode.
+     */
+    public static final String PLAN_FOUND = "planFound";
+
+    /**
+     * The reason of the restart.
+     */
+    @Label("Reason")
+    String reason;
+
+    /**
+     * The cost of the state abandoned.
+     */
+    @Label("Cost")
+    int cost;
+
+    /**
+     * The heuristic value of the state abandoned.
+     */
+    @Label("Heuristic")
+    int heuristic;
+
+    /**
+     * The number of jumps without improvement before the restart.
+     */
+    @Label("Steps Without Improvement")
+    int steps;
+
+    /**
+     * Records a restart if the event is enabled.
+     *
+     * @param reason the reason of the restart.
+     * @param state  the state abandoned.
+     * @param steps  the number of jumps without improvement before the restart.
+     */
+    static void record(final String reason, final Node state, final int steps) {
+        final RestartEvent event = new RestartEvent();
+        if (event.isEnabled()) {
+            event.reason = reason;
+            event.cost = (int) state.getCost();
+            event.heuristic = (int) state.getHeuristic();
+            event.steps = steps;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package fr.uga.pddl4j.exercise.mcts;
+
+import fr.uga.pddl4j.problem.State;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This class implements a node of the UCT tree shared by all the threads of the search. The statistics of the node
+ * are updated with lock-free atomic counters. The rewards are stored in fixed point so that the best one can be
+ * updated with a single atomic operation. A virtual loss is added to the nodes on the path of a running iteration to
+ * spread the threads over different branches of the tree: it counts as a visit and lowers the best reward of the node
+ * until the iteration backs up its reward.
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public final class UCTNode {
+
+    /**
+     * The number of visits added to a node while an iteration goes through it.
+     */
+    public static final int VIRTUAL_LOSS = 1;
+
+    /**
+     * The reward subtracted from the best reward of a node for each iteration going through it.
+     */
+    public static final double VIRTUAL_REWARD = 0.1;
+
+    /**
+     * The scale used to store the rewards in fixed point.
+     */
+    private static final double VALUE_SCALE = 1_000_000.0;
+
+    /**
+     * The state of the node.
+     */
+    private final State state;
+
+    /**
+     * The parent node of this node.
+     */
+    private final UCTNode parent;
+
+    /**
+     * The action apply to reach this node.
+     */
+    private final int action;
+
+    /**
+     * The depth of the node.
+     */
+    private final int depth;
+
+    /**
+     * The number of visits of the node, virtual losses included.
+     */
+    private final AtomicInteger visits;
+
+    /**
+     * The number of iterations going through the node whose reward is not backed up yet.
+     */
+    private final AtomicInteger pending;
+
+    /**
+     * The best reward backed up through the node in fixed point.
+     */
+    private final AtomicLong best;
+
+    /**
+     * The number of children already claimed for expansion.
+     */
+    private final AtomicInteger expanded;
+
+    /**
+     * The applicable actions and the children of the node, published once computed.
+     */
+    private final AtomicReference<Children> children;
+
+    /**
+     * This class holds the applicable actions of a node and the children reached by these actions.
+     */
+    public static final class Children {
+
+        /**
+         * The applicable actions of the node.
+         */
+        private final int[] actions;
+
+        /**
+         * The children of the node, a child being null until its expansion is published.
+         */
+        private final AtomicReferenceArray<UCTNode> nodes;
+
+        /**
+         * Creates new children from the applicable actions of a node.
+         *
+         * @param actions the applicable actions of the node.
+         */
+        public Children(int[] actions) {
+            this.actions = actions;
+            this.nodes = new AtomicReferenceArray<UCTNode>(actions.length);
+        }
+
+        /**
+         * Returns the number of children.
+         *
+         * @return the number of children.
+         */
+        public int size() {
+            return this.actions.length;
+        }
+
+        /**
+         * Returns the action leading to the child at a specified index.
+         *
+         * @param index the index of the child.
+         * @return the action leading to the child.
+         */
+        public int getAction(int index) {
+            return this.actions[index];
+        }
+
+        /**
+         * Returns the child at a specified index.
+         *
+         * @param index the index of the child.
+         * @return the child or null if it is not expanded yet.
+         */
+        public UCTNode get(int index) {
+            return this.nodes.get(index);
+        }
+
+        /**
+         * Publishes the child at a specified index.
+         *
+         * @param index the index of the child.
+         * @param child the child.
+         */
+        public void set(int index, UCTNode child) {
+            this.nodes.set(index, child);
+        }
+    }
+
+    /**
+     * Creates a new node.
+     *
+     * @param state  the state of the node.
+     * @param parent the parent node of the node.
+     * @param action the action applied to reached the node from its parent.
+     * @param depth  the depth of the node.
+     */
+    public UCTNode(State state, UCTNode parent, int action, int depth) {
+        this.state = state;
+        this.parent = parent;
+        this.action = action;
+        this.depth = depth;
+        this.visits = new AtomicInteger();
+        this.pending = new AtomicInteger();
+        this.best = new AtomicLong();
+        this.expanded = new AtomicInteger();
+        this.children = new AtomicReference<Children>();
+    }
+
+    /**
+     * Returns the state of the node.
+     *
+     * @return the state of the node.
+     */
+    public State getState() {
+        return this.state;
+    }
+
+    /**
+     * Returns the parent node of the node.
+     *
+     * @return the parent node.
+     */
+    public UCTNode getParent() {
+        return this.parent;
+    }
+
+    /**
+     * Returns the action applied to reach the node.
+     *
+     * @return the action applied to reach the node.
+     */
+    public int getAction() {
+        return this.action;
+    }
+
+    /**
+     * Returns the depth of this node.
+     *
+     * @return the depth of this node.
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * Returns the number of visits of the node, virtual losses included.
+     *
+     * @return the number of visits of the node.
+     */
+    public int getVisits() {
+        return this.visits.get();
+    }
+
+    /**
+     * Returns the best reward backed up through the node.
+     *
+     * @return the best reward backed up through the node.
+     */
+    public double getBestValue() {
+        return this.best.get() / VALUE_SCALE;
+    }
+
+    /**
+     * Returns the children of the node or null if the applicable actions of the node are not computed yet.
+     *
+     * @return the children of the node.
+     */
+    public Children getChildren() {
+        return this.children.get();
+    }
+
+    /**
+     * Publishes the children of the node if no other thread has already done it.
+     *
+     * @param actions the applicable actions of the node.
+     * @return the children published for the node.
+     */
+    public Children setChildren(int[] actions) {
+        this.children.compareAndSet(null, new Children(actions));
+        return this.children.get();
+    }
+
+    /**
+     * Claims the next child to expand. The number of children that can be expanded grows with the square root of the
+     * number of visits of the node (progressive widening), so that the tree goes deeper instead of expanding all the
+     * children of a node before going down.
+     *
+     * @param size the number of children of the node.
+     * @return the index of the child to expand or -1 if no child can be expanded for now.
+     */
+    public int claimChild(int size) {
+        final int allowed = Math.min(size, 1 + (int) Math.sqrt(this.visits.get()));
+        int index = this.expanded.get();
+        while (index < allowed) {
+            if (this.expanded.compareAndSet(index, index + 1)) {
+                return index;
+            }
+            index = this.expanded.get();
+        }
+        return -1;
+    }
+
+    /**
+     * Adds a virtual loss to the node.
+     */
+    public void addVirtualLoss() {
+        this.visits.addAndGet(UCTNode.VIRTUAL_LOSS);
+        this.pending.incrementAndGet();
+    }
+
+    /**
+     * Backs up a reward through the node and removes the virtual loss added when the iteration went through it.
+     *
+     * @param reward the reward to back up.
+     */
+    public void update(double reward) {
+        this.best.accumulateAndGet(Math.round(reward * VALUE_SCALE), Math::max);
+        this.visits.addAndGet(1 - UCTNode.VIRTUAL_LOSS);
+        this.pending.decrementAndGet();
+    }
+
+    /**
+     * Returns the UCT value of the node. The exploitation term is the best reward backed up through the node rather
+     * than the mean reward: in planning a single rollout getting close to the goal matters more than the average of
+     * the rollouts, and the mean washes these rare good rollouts out. As the best reward does not decrease with the
+     * visits, the virtual reward of the iterations going through the node is subtracted from it, so that the other
+     * threads select a sibling while these iterations run.
+     *
+     * @param parentVisits the number of visits of the parent of the node.
+     * @param exploration  the exploration constant.
+     * @return the UCT value of the node.
+     */
+    public double getUCTValue(int parentVisits, double exploration) {
+        final int n = this.visits.get();
+        if (n == 0) {
+            return Double.MAX_VALUE;
+        }
+        return this.getBestValue() - UCTNode.VIRTUAL_REWARD * this.pending.get()
+            + exploration * Math.sqrt(Math.log(Math.max(parentVisits, 1)) / n);
+    }
+}
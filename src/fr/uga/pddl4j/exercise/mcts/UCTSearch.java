@@ -0,0 +1,369 @@
+package fr.uga.pddl4j.exercise.mcts;
+
+import fr.uga.pddl4j.exercise.util.Deadline;
+import fr.uga.pddl4j.exercise.util.SearchMetrics;
+import fr.uga.pddl4j.exercise.util.SuccessorGenerator;
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.plan.SequentialPlan;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class implements a tree-parallel UCT search. All the threads run selection, expansion, rollout and
+ * backpropagation against the same tree, so the statistics gathered by an iteration are kept for all the following
+ * ones instead of being thrown away at each restart. The threads are spread over the tree with virtual losses.
+ *
+ * <p>The reward of a rollout is <code>h0 / (h0 + h)</code> where <code>h0</code> is the heuristic value of the
+ * initial state and <code>h</code> the heuristic value of the end of the rollout. A rollout reaching the goal ends
+ * the search.</p>
+ *
+ * <p>Each thread gets its own random number generator split from the generator of the search. With a single thread,
+ * the search is reproducible from the seed of the planner. With several threads, the tree also depends on the
+ * scheduling of the threads.</p>
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public final class UCTSearch {
+
+    /**
+     * The class logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(UCTSearch.class.getName());
+
+    /**
+     * The planner that runs this search.
+     */
+    private final MCTS planner;
+
+    /**
+     * The problem to solve.
+     */
+    private final Problem problem;
+
+    /**
+     * The goal of the problem.
+     */
+    private final Condition goal;
+
+    /**
+     * The actions available from the problem.
+     */
+    private final List<Action> actions;
+
+    /**
+     * The successor generator of the actions.
+     */
+    private final SuccessorGenerator generator;
+
+    /**
+     * The root node of the tree.
+     */
+    private final UCTNode root;
+
+    /**
+     * The plan found by the search.
+     */
+    private final AtomicReference<Plan> solution;
+
+    /**
+     * The number of iterations run by all the threads.
+     */
+    private final AtomicLong iterations;
+
+    /**
+     * The number of nodes of the tree.
+     */
+    private final AtomicLong nodes;
+
+    /**
+     * The heuristic value of the initial state used to normalize the rewards.
+     */
+    private double rootHeuristic;
+
+    /**
+     * The deadline of the search.
+     */
+    private Deadline deadline;
+
+    /**
+     * The metrics of the search.
+     */
+    private SearchMetrics metrics;
+
+    /**
+     * Creates a new UCT search.
+     *
+     * @param planner the planner that runs this search.
+     * @param problem the problem to solve.
+     */
+    public UCTSearch(MCTS planner, Problem problem) {
+        this.planner = planner;
+        this.problem = problem;
+        this.goal = problem.getGoal();
+        this.actions = problem.getActions();
+        this.generator = planner.getSuccessorGenerator(this.actions);
+        this.root = new UCTNode(new State(problem.getInitialState()), null, -1, 0);
+        this.solution = new AtomicReference<Plan>();
+        this.iterations = new AtomicLong();
+        this.nodes = new AtomicLong(1);
+    }
+
+    /**
+     * Search a solution plan until the goal is reached or the deadline of the search is expired.
+     *
+     * @param deadline the deadline of the search, polled at each iteration and at each step of the rollouts.
+     * @param random   the random number generator from which the generators of the threads are split.
+     * @return a plan solution for the problem or null if no plan was found in time.
+     */
+    public Plan search(Deadline deadline, SplittableRandom random) {
+        if (this.root.getState().satisfy(this.goal)) {
+            return new SequentialPlan();
+        }
+        this.deadline = deadline;
+        this.metrics = this.planner.getMetrics();
+        this.metrics.setSizes(null, this.nodes::get);
+
+        // Create one worker by thread, each one with its own instance of the heuristic.
+        final List<Callable<Void>> workers = new ArrayList<Callable<Void>>(this.planner.getThreads());
+        for (int i = 0; i < this.planner.getThreads(); i++) {
+            final Worker worker = new Worker(this.planner.getHeuristicInstance(this.problem), random.split());
+            if (i == 0) {
+                this.rootHeuristic = Math.max(1.0, worker.heuristic.estimate(this.root.getState(), this.goal));
+            }
+            workers.add(worker::run);
+        }
+
+        if (workers.size() == 1) {
+            try {
+                workers.get(0).call();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        } else {
+            final ExecutorService executor = Executors.newFixedThreadPool(workers.size());
+            try {
+                for (Future<Void> future : executor.invokeAll(workers)) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        LOGGER.info("* UCT search ran " + this.iterations.get() + " iterations over a tree of "
+            + this.nodes.get() + " nodes\n");
+        this.metrics.freezeSizes();
+        final Plan plan = this.solution.get();
+        if (plan != null) {
+            GoalEvent.record(plan.size(), deadline.getElapsedTime(), MCTS.Mode.UCT);
+        }
+        return plan;
+    }
+
+    /**
+     * Selects the child of a node with the maximum UCT value.
+     *
+     * @param node     the node.
+     * @param children the children of the node.
+     * @return the child with the maximum UCT value or null if no child is published yet.
+     */
+    private UCTNode select(UCTNode node, UCTNode.Children children) {
+        final double exploration = this.planner.getExploration();
+        final int parentVisits = node.getVisits();
+        UCTNode best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < children.size(); i++) {
+            final UCTNode child = children.get(i);
+            if (child != null) {
+                final double value = child.getUCTValue(parentVisits, exploration);
+                if (value > bestValue) {
+                    best = child;
+                    bestValue = value;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Extracts a plan from a node of the tree followed by the actions of a rollout.
+     *
+     * @param node   the node.
+     * @param walk   the actions of the rollout.
+     * @param length the number of actions of the rollout.
+     * @return the plan extracted.
+     */
+    private Plan extractPlan(UCTNode node, int[] walk, int length) {
+        final Plan plan = new SequentialPlan();
+        for (UCTNode n = node; n.getAction() != -1; n = n.getParent()) {
+            plan.add(0, this.actions.get(n.getAction()));
+        }
+        for (int i = 0; i < length; i++) {
+            plan.add(plan.size(), this.actions.get(walk[i]));
+        }
+        return plan;
+    }
+
+    /**
+     * This class implements a thread of the search.
+     */
+    private final class Worker {
+
+        /**
+         * The heuristic function used by this worker to evaluate the rollouts.
+         */
+        private final StateHeuristic heuristic;
+
+        /**
+         * The random number generator used for the rollouts.
+         */
+        private final SplittableRandom randomGenerator;
+
+        /**
+         * The buffer receiving the applicable actions of the current state.
+         */
+        private final int[] applicable;
+
+        /**
+         * The actions of the current rollout.
+         */
+        private final int[] walk;
+
+        /**
+         * Creates a new worker.
+         *
+         * @param heuristic       the heuristic function used by this worker.
+         * @param randomGenerator the random number generator used for the rollouts.
+         */
+        Worker(StateHeuristic heuristic, SplittableRandom randomGenerator) {
+            this.heuristic = heuristic;
+            this.randomGenerator = randomGenerator;
+            this.applicable = new int[UCTSearch.this.generator.size()];
+            this.walk = new int[UCTSearch.this.planner.getLengthWalk()];
+        }
+
+        /**
+         * Runs iterations until a plan is found or the deadline of the search is expired.
+         *
+         * @return nothing.
+         */
+        Void run() {
+            while (UCTSearch.this.solution.get() == null && !UCTSearch.this.deadline.poll()
+                && !Thread.currentThread().isInterrupted()) {
+                this.iterate();
+                UCTSearch.this.iterations.incrementAndGet();
+            }
+            return null;
+        }
+
+        /**
+         * Runs one iteration of selection, expansion, rollout and backpropagation.
+         */
+        private void iterate() {
+            // Selection and expansion: descend in the tree until a new child is expanded.
+            UCTNode node = UCTSearch.this.root;
+            node.addVirtualLoss();
+            while (true) {
+                UCTNode.Children children = node.getChildren();
+                if (children == null) {
+                    final long scan = System.nanoTime();
+                    final int size = UCTSearch.this.generator.applicableActions(node.getState(), this.applicable);
+                    UCTSearch.this.metrics.scanned(1, 1, System.nanoTime() - scan);
+                    children = node.setChildren(Arrays.copyOf(this.applicable, size));
+                }
+                if (children.size() == 0) {
+                    break;
+                }
+                final int index = node.claimChild(children.size());
+                if (index != -1) {
+                    final int action = children.getAction(index);
+                    final State state = new State(node.getState());
+                    state.apply(UCTSearch.this.actions.get(action).getConditionalEffects());
+                    final UCTNode child = new UCTNode(state, node, action, node.getDepth() + 1);
+                    child.addVirtualLoss();
+                    children.set(index, child);
+                    UCTSearch.this.nodes.incrementAndGet();
+                    UCTSearch.this.metrics.expanded();
+                    UCTSearch.this.metrics.generated(1);
+                    node = child;
+                    break;
+                }
+                final UCTNode best = UCTSearch.this.select(node, children);
+                if (best == null) {
+                    break;
+                }
+                best.addVirtualLoss();
+                node = best;
+            }
+
+            // Rollout from the node reached.
+            final double reward = this.rollout(node);
+
+            // Backpropagation of the reward up to the root.
+            for (UCTNode n = node; n != null; n = n.getParent()) {
+                n.update(reward);
+            }
+        }
+
+        /**
+         * Runs a pure random walk from a node and returns its reward.
+         *
+         * @param node the node to start from.
+         * @return the reward of the walk.
+         */
+        private double rollout(UCTNode node) {
+            final Condition goal = UCTSearch.this.goal;
+            if (node.getState().satisfy(goal)) {
+                UCTSearch.this.solution.compareAndSet(null, UCTSearch.this.extractPlan(node, this.walk, 0));
+                return 1.0;
+            }
+            final SearchMetrics metrics = UCTSearch.this.metrics;
+            final State state = new State(node.getState());
+            int length = 0;
+            for (int j = 0; j < this.walk.length && !UCTSearch.this.deadline.poll(); j++) {
+                final long scan = System.nanoTime();
+                final int size = UCTSearch.this.generator.applicableActions(state, this.applicable);
+                metrics.scanned(1, 1, System.nanoTime() - scan);
+                if (size == 0) {
+                    metrics.deadEnd();
+                    break;
+                }
+                final int action = this.applicable[this.randomGenerator.nextInt(size)];
+                state.apply(UCTSearch.this.actions.get(action).getConditionalEffects());
+                this.walk[length++] = action;
+                if (state.satisfy(goal)) {
+                    metrics.walked(length);
+                    UCTSearch.this.solution.compareAndSet(null, UCTSearch.this.extractPlan(node, this.walk, length));
+                    return 1.0;
+                }
+            }
+            metrics.walked(length);
+            final int h = this.heuristic.estimate(state, goal);
+            if (h == Integer.MAX_VALUE) {
+                return 0.0;
+            }
+            return UCTSearch.this.rootHeuristic / (UCTSearch.this.rootHeuristic + h);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package fr.uga.pddl4j.exercise.mcts;
+
+/**
+ * This class implements the adaptive controller of the random walks of the MCTS planner, in the style of the
+ * adaptive local restarts of Arvand. The controller starts from the length of the walks, the number of walks per jump
+ * and the maximum number of steps without progress configured, and adjusts them after each jump:
+ *
+ * <ul>
+ * <li>when a jump improves the best heuristic value, the walks are shortened and fewer walks are run, since the
+ * search makes progress with cheaper jumps;</li>
+ * <li>when a jump does not improve the best heuristic value, the walks are extended and more walks are run to get out
+ * of the plateau;</li>
+ * <li>the maximum number of steps without progress before a restart follows the observed number of jumps between two
+ * improvements, so that a restart happens when the search stalls much longer than usual, but never sooner than
+ * configured.</li>
+ * </ul>
+ *
+ * <p>The parameters stay within a factor <code>RANGE</code> of the configured values. The length and the number of
+ * the walks go back to the configured values at each restart, whereas the progress rate is kept for the whole
+ * search.</p>
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public final class WalkController {
+
+    /**
+     * The factor bounding the parameters around the configured values.
+     */
+    public static final int RANGE = 4;
+
+    /**
+     * The factor applied to the length and the number of the walks at each adjustment.
+     */
+    public static final double FACTOR = 1.5;
+
+    /**
+     * The weight of the last gap between two improvements in the average gap.
+     */
+    public static final double SMOOTHING = 0.25;
+
+    /**
+     * The configured length of the walks.
+     */
+    private final int initialLengthWalk;
+
+    /**
+     * The configured number of walks per jump.
+     */
+    private final int initialNumWalk;
+
+    /**
+     * The configured maximum number of steps without progress.
+     */
+    private final int initialMaxSteps;
+
+    /**
+     * Whether the parameters are adjusted.
+     */
+    private final boolean adaptive;
+
+    /**
+     * The current length of the walks.
+     */
+    private double lengthWalk;
+
+    /**
+     * The current number of walks per jump.
+     */
+    private double numWalk;
+
+    /**
+     * The current maximum number of steps without progress.
+     */
+    private int maxSteps;
+
+    /**
+     * The average number of jumps between two improvements or 0 if no improvement was observed.
+     */
+    private double averageGap;
+
+    /**
+     * The number of jumps since the last improvement.
+     */
+    private int gap;
+
+    /**
+     * Creates a new controller from the configuration of a planner.
+     *
+     * @param planner the planner.
+     */
+    public WalkController(MCTS planner) {
+        this.initialLengthWalk = planner.getLengthWalk();
+        this.initialNumWalk = planner.getNumWalk();
+        this.initialMaxSteps = planner.getMaxSteps();
+        this.adaptive = planner.isAdaptive();
+        this.lengthWalk = this.initialLengthWalk;
+        this.numWalk = this.initialNumWalk;
+        this.maxSteps = this.initialMaxSteps;
+    }
+
+    /**
+     * Returns the current length of the walks.
+     *
+     * @return the current length of the walks.
+     */
+    public int getLengthWalk() {
+        return (int) Math.round(this.lengthWalk);
+    }
+
+    /**
+     * Returns the current number of walks per jump.
+     *
+     * @return the current number of walks per jump.
+     */
+    public int getNumWalk() {
+        return (int) Math.round(this.numWalk);
+    }
+
+    /**
+     * Returns the current maximum number of steps without progress before a restart.
+     *
+     * @return the current maximum number of steps without progress.
+     */
+    public int getMaxSteps() {
+        return this.maxSteps;
+    }
+
+    /**
+     * Adjusts the parameters after a jump.
+     *
+     * @param improved whether the jump improved the best heuristic value.
+     */
+    public void jump(boolean improved) {
+        if (!this.adaptive) {
+            return;
+        }
+        this.gap++;
+        if (improved) {
+            this.averageGap = (this.averageGap == 0.0)
+                ? this.gap : (1.0 - SMOOTHING) * this.averageGap + SMOOTHING * this.gap;
+            this.gap = 0;
+            this.lengthWalk = Math.max(Math.max(1.0, (double) this.initialLengthWalk / RANGE),
+                                       this.lengthWalk / FACTOR);
+            this.numWalk = Math.max(Math.max(1.0, (double) this.initialNumWalk / RANGE), this.numWalk / FACTOR);
+            // We restart when the search stalls twice longer than the usual gap between two improvements, but never
+            // sooner than configured.
+            this.maxSteps = (int) Math.min((long) this.initialMaxSteps * RANGE,
+                                           Math.max(this.initialMaxSteps, (long) Math.ceil(2.0 * this.averageGap)));
+        } else {
+            this.lengthWalk = Math.min((double) this.initialLengthWalk * RANGE, this.lengthWalk * FACTOR);
+            this.numWalk = Math.min((double) this.initialNumWalk * RANGE, this.numWalk * FACTOR);
+        }
+    }
+
+    /**
+     * Resets the length and the number of the walks to the configured values after a restart.
+     */
+    public void restart() {
+        if (!this.adaptive) {
+            return;
+        }
+        this.gap = 0;
+        this.lengthWalk = this.initialLengthWalk;
+        this.numWalk = this.initialNumWalk;
+    }
+
+    /**
+     * Returns a string representation of the current parameters.
+     *
+     * @return a string representation of the current parameters.
+     */
+    @Override
+    public String toString() {
+        return "length of walks " + this.getLengthWalk() + ", walks per jump " + this.getNumWalk()
+            + ", max steps " + this.getMaxSteps();
+    }
+}
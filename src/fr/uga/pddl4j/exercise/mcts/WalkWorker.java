@@ -0,0 +1,751 @@
+package fr.uga.pddl4j.exercise.mcts;
+
+import fr.uga.pddl4j.exercise.util.ApplicabilityTracker;
+import fr.uga.pddl4j.exercise.util.Deadline;
+import fr.uga.pddl4j.exercise.util.RelaxedPlanHeuristic;
+import fr.uga.pddl4j.exercise.util.SearchMetrics;
+import fr.uga.pddl4j.exercise.util.TranspositionTable;
+import fr.uga.pddl4j.exercise.util.ZobristHash;
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.util.BitVector;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class implements a worker running pure random walks for the MCTS planner. Each worker owns its own heuristic
+ * instance because the heuristics of PDDL4J keep internal buffers and cannot be shared between threads.
+ *
+ * <p>The walks do not create a node at each step. They modify in place a scratch state whose changes are logged by
+ * the tracker of the applicable actions, and the log is used to rewind the scratch state at the end of each walk.
+ * The nodes of a walk are only created when its endpoint becomes the best state found by the worker.</p>
+ *
+ * <p>When a transposition table is given, the hash of the scratch state is updated from the changed facts at each
+ * step. The heuristic value of a state already in the table is not computed again, and a walk reaching a state with a
+ * higher cost than the best one recorded in the current branch is cut before this state: its last step is undone and
+ * the walk ends at the previous state, so the long walks are not thrown away as soon as they cross a known
+ * state.</p>
+ *
+ * <p>The goal is checked at each step from a counter of the unsatisfied goal facts updated from the changed facts,
+ * so the heuristic can be evaluated only at the endpoints of the walks without missing a solution. The intermediate
+ * nodes of a walk evaluated only at its endpoint have a heuristic value of -1. In anytime mode, the walks reaching
+ * the length of the best plan found are cut in the same way, so a goal reached by a walk always gives a shorter
+ * plan.</p>
+ *
+ * <p>With the MHA policy, the actions are selected among the helpful actions of the last state evaluated with a
+ * configurable probability. The helpful actions are known for the initial state of the walks and for the states
+ * evaluated by the FF heuristic of the worker. The table stores no helpful actions, so a state evaluated before a
+ * step of the walk is always evaluated again by the FF heuristic, the table only cutting the walks. In the states not
+ * evaluated, and when none of the helpful actions is applicable, the actions are selected uniformly.</p>
+ *
+ * <p>With the MDA policy, the worker counts for each action the number of times it was applied in a walk and the
+ * failures of these walks: 1 for a walk ending in a dead end and <code>STALL_PENALTY</code> for a walk not improving
+ * the heuristic value of its initial state. The actions are selected with a Gibbs distribution whose weight
+ * <code>exp(-failures / walks / temperature)</code> is updated at the end of each walk for its actions only. The
+ * statistics are kept across the restarts.</p>
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public final class WalkWorker {
+
+    /**
+     * The failure of a walk ending without progress for the MDA policy. Most walks end on a plateau in domains like
+     * logistics, so these walks count much less than the dead ends.
+     */
+    public static final double STALL_PENALTY = 0.1;
+
+    /**
+     * The mask of the steps whose update of the applicable actions is timed for the metrics of the search, i.e., one
+     * step in 16. A step is much cheaper than a heuristic evaluation, so reading the clock at each step would weigh on
+     * the walks.
+     */
+    private static final int SCAN_SAMPLING_MASK = 15;
+
+    /**
+     * The planner that owns this worker.
+     */
+    private final MCTS planner;
+
+    /**
+     * The heuristic function used by this worker to evaluate the states.
+     */
+    private final StateHeuristic heuristic;
+
+    /**
+     * The FF heuristic computing the helpful actions or null if the actions are selected uniformly.
+     */
+    private final RelaxedPlanHeuristic relaxed;
+
+    /**
+     * The goal of the problem.
+     */
+    private final Condition goal;
+
+    /**
+     * The actions available from the problem.
+     */
+    private final List<Action> actions;
+
+    /**
+     * Whether the goal has numeric constraints that must be checked on the state once all its facts are satisfied.
+     */
+    private final boolean numericGoal;
+
+    /**
+     * The tracker of the actions applicable along the walks.
+     */
+    private final ApplicabilityTracker tracker;
+
+    /**
+     * The random number generator used for the selection of actions, replaced by the planner before each call to the
+     * walks.
+     */
+    private SplittableRandom randomGenerator;
+
+    /**
+     * The Zobrist hash of the states or null if the states are not recorded.
+     */
+    private final ZobristHash zobrist;
+
+    /**
+     * The transposition table of this worker or null if the states are not recorded.
+     */
+    private final TranspositionTable table;
+
+    /**
+     * The scratch state modified in place by the walks.
+     */
+    private final State scratch;
+
+    /**
+     * The cache of the states of the nodes from which the walks of this worker start.
+     */
+    private final Node.Cache states;
+
+    /**
+     * The actions applied at each step of the current walk.
+     */
+    private int[] walkActions;
+
+    /**
+     * The number of changed facts logged by the tracker at the end of each step of the current walk.
+     */
+    private int[] walkFlips;
+
+    /**
+     * The heuristic value of the state reached at each step of the current walk.
+     */
+    private int[] walkHeuristics;
+
+    /**
+     * The helpful actions of the initial state of the walks.
+     */
+    private final int[] initialHelpful;
+
+    /**
+     * The number of helpful actions of the initial state of the walks.
+     */
+    private int numberOfInitialHelpful;
+
+    /**
+     * The helpful actions applicable in the scratch state.
+     */
+    private final int[] candidates;
+
+    /**
+     * Whether the actions are selected with the Gibbs distribution of the MDA policy.
+     */
+    private final boolean deadlockAvoidance;
+
+    /**
+     * The number of times each action was applied in a walk with the MDA policy.
+     */
+    private final int[] actionWalks;
+
+    /**
+     * The failures of the walks in which each action was applied, a dead end counting for 1 and a walk without
+     * progress for <code>STALL_PENALTY</code>.
+     */
+    private final double[] actionFailures;
+
+    /**
+     * The weight of each action in the Gibbs distribution of the MDA policy.
+     */
+    private final double[] actionWeights;
+
+    /**
+     * The number of times each action was applied in a walk before the current call to the walks, restored when some
+     * walks of the call are discarded.
+     */
+    private int[] savedActionWalks;
+
+    /**
+     * The failures of the walks in which each action was applied before the current call to the walks.
+     */
+    private double[] savedActionFailures;
+
+    /**
+     * The ordinal of each walk learned by the MDA policy in the current call to the walks, when some of them may be
+     * discarded.
+     */
+    private int[] learnedOrdinals;
+
+    /**
+     * The failure of each walk learned in the current call to the walks.
+     */
+    private double[] learnedFailures;
+
+    /**
+     * The end of the actions of each walk learned in the current call to the walks in the log of their actions.
+     */
+    private int[] learnedEnds;
+
+    /**
+     * The log of the actions of the walks learned in the current call to the walks.
+     */
+    private int[] learnedActions;
+
+    /**
+     * The number of walks learned in the current call to the walks.
+     */
+    private int numberOfLearned;
+
+    /**
+     * The length of the best plan found by the anytime mode. The walks reaching this cost are cut.
+     */
+    private int bound;
+
+    /**
+     * Creates a new walk worker.
+     *
+     * @param planner   the planner that owns this worker.
+     * @param heuristic the heuristic function used by this worker to evaluate the states.
+     * @param relaxed   the FF heuristic computing the helpful actions, possibly decorated by <code>heuristic</code>,
+     *                  or null to select the actions uniformly.
+     * @param goal      the goal of the problem.
+     * @param actions   the actions available from the problem.
+     * @param tracker   the tracker of the applicable actions owned by this worker.
+     * @param zobrist   the Zobrist hash of the states or null to not record the states.
+     * @param table     the transposition table owned by this worker or null to not record the states.
+     */
+    public WalkWorker(MCTS planner, StateHeuristic heuristic, RelaxedPlanHeuristic relaxed, Condition goal,
+                      List<Action> actions, ApplicabilityTracker tracker, ZobristHash zobrist,
+                      TranspositionTable table) {
+        this.planner = planner;
+        this.heuristic = heuristic;
+        this.relaxed = relaxed;
+        this.goal = goal;
+        this.numericGoal = !goal.getNumericConstraints().isEmpty();
+        this.actions = actions;
+        this.tracker = tracker;
+        this.randomGenerator = new SplittableRandom();
+        this.zobrist = zobrist;
+        this.table = table;
+        this.scratch = new State();
+        this.states = new Node.Cache();
+        this.walkActions = new int[0];
+        this.walkFlips = new int[0];
+        this.walkHeuristics = new int[0];
+        this.initialHelpful = (relaxed == null) ? new int[0] : new int[actions.size()];
+        this.candidates = (relaxed == null) ? new int[0] : new int[actions.size()];
+        this.deadlockAvoidance = planner.getPolicy() == MCTS.WalkPolicy.MDA;
+        final int numberOfStatistics = this.deadlockAvoidance ? actions.size() : 0;
+        this.actionWalks = new int[numberOfStatistics];
+        this.actionFailures = new double[numberOfStatistics];
+        this.actionWeights = new double[numberOfStatistics];
+        Arrays.fill(this.actionWeights, 1.0);
+        this.bound = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the heuristic function used by this worker.
+     *
+     * @return the heuristic function used by this worker.
+     */
+    public StateHeuristic getHeuristic() {
+        return this.heuristic;
+    }
+
+    /**
+     * Returns the number of states of the transposition table of this worker.
+     *
+     * @return the number of states of the transposition table or 0 if the worker does not record the states.
+     */
+    public long getTableSize() {
+        return (this.table == null) ? 0L : this.table.size();
+    }
+
+    /**
+     * Sets the random number generator used for the selection of actions by the next walks.
+     *
+     * @param randomGenerator the random number generator.
+     */
+    public void setRandomGenerator(SplittableRandom randomGenerator) {
+        this.randomGenerator = randomGenerator;
+    }
+
+    /**
+     * Sets the length of the best plan found. The walks reaching a state whose cost is not lower than this length are
+     * cut, since they cannot lead to a shorter plan.
+     *
+     * @param bound the length of the best plan found.
+     */
+    public void setBound(int bound) {
+        this.bound = bound;
+    }
+
+    /**
+     * Forgets the states recorded in the transposition table. The costs recorded are only meaningful for the branch
+     * being explored, so the table must be cleared when the search restarts from the root.
+     */
+    public void restart() {
+        if (this.table != null) {
+            this.table.clear();
+        }
+    }
+
+    /**
+     * Forgets the states of the nodes cached by this worker once the search is over, so that the nodes of the search
+     * can be collected.
+     */
+    public void release() {
+        this.states.clear();
+    }
+
+    /**
+     * Runs pure random walks from a state. The walks of a call are numbered from 0 to <code>numWalk - 1</code> and
+     * spread over the workers, this worker running in order the walks of ordinals <code>first</code>,
+     * <code>first + step</code>, <code>first + 2 * step</code> and so on. The walks stop as soon as the ordinal of
+     * the current walk is higher than the lowest ordinal of the walks that reached the goal, shared by all the
+     * workers, or when the deadline of the planner is expired. Every worker thus stops at most one walk after the goal
+     * is reached, and the walk with the lowest ordinal reaching the goal does not depend on the scheduling of the
+     * threads.
+     *
+     * <p>A worker may complete walks whose ordinal is higher than the final winner before this winner is known. With
+     * the MDA policy, these walks are forgotten by {@link #discard(int)} once all the workers are done, so the
+     * statistics do not depend on the time at which the walks were stopped either.</p>
+     *
+     * @param currentState the actual state of the MCTS we need to explore from.
+     * @param numWalk      the number of walks of the call, over all the workers.
+     * @param lengthWalk   the maximum length of a walk.
+     * @param first        the ordinal of the first walk of this worker.
+     * @param step         the number of workers sharing the walks.
+     * @param winner       the lowest ordinal of the walks that reached the goal, shared by all the workers.
+     * @return the best state found by this worker, a state satisfying the goal or null if no walk was completed.
+     */
+    public Node walks(Node currentState, int numWalk, int lengthWalk, int first, int step, AtomicInteger winner) {
+        // We initialize the minimum heuristic and state value.
+        double hmin = Double.MAX_VALUE;
+        Node smin = null;
+        final boolean endpoint = this.planner.getEvaluation() == MCTS.Evaluation.ENDPOINT;
+        final Deadline deadline = this.planner.getDeadline();
+        final SearchMetrics metrics = this.planner.getMetrics();
+
+        // We save the statistics of the MDA policy and log the walks learned if some walks may be discarded, i.e.,
+        // if the walks are shared with other workers.
+        this.numberOfLearned = 0;
+        final boolean logged = this.deadlockAvoidance && step > 1;
+        if (logged) {
+            if (this.savedActionWalks == null) {
+                this.savedActionWalks = new int[this.actionWalks.length];
+                this.savedActionFailures = new double[this.actionFailures.length];
+                this.learnedOrdinals = new int[16];
+                this.learnedFailures = new double[16];
+                this.learnedEnds = new int[16];
+                this.learnedActions = new int[16 * Math.max(lengthWalk, 1)];
+            }
+            System.arraycopy(this.actionWalks, 0, this.savedActionWalks, 0, this.actionWalks.length);
+            System.arraycopy(this.actionFailures, 0, this.savedActionFailures, 0, this.actionFailures.length);
+        }
+
+        // We make sure the buffers of the walk can hold a walk of the maximum length.
+        if (this.walkActions.length < lengthWalk) {
+            this.walkActions = new int[lengthWalk];
+            this.walkFlips = new int[lengthWalk];
+            this.walkHeuristics = new int[lengthWalk];
+        }
+
+        // We copy the initial state of the function in the scratch state and compute its applicable actions and its
+        // number of unsatisfied goals.
+        this.scratch.clear();
+        this.scratch.or(currentState.getState(this.states));
+        this.tracker.reset(this.scratch);
+        final int initialUnsatisfiedGoals = this.countUnsatisfiedGoals();
+        final long initialHash = (this.table == null) ? 0L : this.zobrist.hash(this.scratch);
+        if (this.table != null) {
+            this.table.put(initialHash, (int) currentState.getCost(), (int) currentState.getHeuristic());
+        }
+        if (this.relaxed != null) {
+            this.relaxed.estimate(this.scratch, this.goal);
+            this.numberOfInitialHelpful = this.relaxed.getNumberOfHelpfulActions();
+            for (int k = 0; k < this.numberOfInitialHelpful; k++) {
+                this.initialHelpful[k] = this.relaxed.getHelpfulAction(k);
+            }
+        }
+
+        // We loop over the walks given to this worker until a walk with a lower ordinal has reached the goal.
+        for (int ordinal = first; ordinal < numWalk && ordinal <= winner.get(); ordinal += step) {
+            // We rewind the scratch state to the inital state of the function to explore a new branch of the tree.
+            this.tracker.rewind(this.scratch);
+            int length = 0;
+            double h = currentState.getHeuristic();
+            long hash = initialHash;
+            int unsatisfiedGoals = initialUnsatisfiedGoals;
+            boolean pruned = false;
+            boolean deadEnd = false;
+            // The number of steps of the walk, the number of updates of the applicable actions timed and their time.
+            int steps = 0;
+            int timed = 0;
+            long scanTime = 0L;
+            // The helpful actions of the scratch state: 1 for the initial state, 2 for the last state estimated by
+            // the FF heuristic and 0 if they are not known.
+            int helpful = (this.relaxed == null) ? 0 : 1;
+            // We loop until we reach the maximum length of a walk that we defined at the start of the MCTS.
+            for (int j = 0; j < lengthWalk; j++) {
+                // A walk with a lower ordinal has already reached the goal, there is no need to continue.
+                if (winner.get() < ordinal) {
+                    return smin;
+                }
+                // The search is stopped.
+                if (deadline != null && deadline.poll())
+                    return smin;
+
+                // We get the number of applicables actions of the problem at this state.
+                final int size = this.tracker.size();
+
+                // Check if their is any applicable actions for this state.
+                if (size == 0) {
+                    deadEnd = true;
+                    break;
+                }
+
+                // We select an action from the helpful actions or uniformly from the applicable action pool.
+                final int choosenAction = this.select(size, helpful);
+
+                // We apply the effect of the action to the scratch state, update the applicable actions, the hash and
+                // the number of unsatisfied goals acordingly, and record the step.
+                final int from = (length == 0) ? 0 : this.walkFlips[length - 1];
+                final long previousHash = hash;
+                final long scan = ((j & WalkWorker.SCAN_SAMPLING_MASK) == 0) ? System.nanoTime() : 0L;
+                this.tracker.apply(this.actions.get(choosenAction), this.scratch);
+                if ((j & WalkWorker.SCAN_SAMPLING_MASK) == 0) {
+                    scanTime += System.nanoTime() - scan;
+                    timed++;
+                }
+                steps++;
+                this.walkActions[length] = choosenAction;
+                this.walkFlips[length] = this.tracker.getNumberOfFlips();
+                for (int k = from; k < this.walkFlips[length]; k++) {
+                    final int flip = this.tracker.getFlip(k);
+                    unsatisfiedGoals += this.goalDelta(flip);
+                    if (this.table != null) {
+                        hash = this.zobrist.toggle(hash, flip >>> 1);
+                    }
+                }
+                length++;
+
+                // We cut the walk before the new state if it was already reached with a lower cost or cannot lead to a
+                // plan shorter than the best one. The walk ends at the previous state, unless it is the initial one.
+                final int cost = (int) currentState.getCost() + length;
+                final int known = (this.table == null) ? TranspositionTable.UNKNOWN : this.table.getCost(hash);
+                if (cost >= this.bound || (known != TranspositionTable.UNKNOWN && known < cost)) {
+                    this.tracker.rewind(this.scratch, from);
+                    hash = previousHash;
+                    length--;
+                    pruned = length == 0;
+                    break;
+                }
+
+                // If the new state satisfy the goal condition then we have found a solution and broadcast it.
+                if (unsatisfiedGoals == 0 && (!this.numericGoal || this.scratch.satisfy(this.goal))) {
+                    this.walkHeuristics[length - 1] = 0;
+                    final Node goalState = this.materialize(currentState, length);
+                    winner.accumulateAndGet(ordinal, Math::min);
+                    if (metrics != null) {
+                        metrics.walked(steps);
+                        metrics.scanned(steps, timed, scanTime);
+                    }
+                    return goalState;
+                }
+
+                // We evaluate the new state at each step, unless only the endpoints of the walks are evaluated.
+                if (endpoint) {
+                    this.walkHeuristics[length - 1] = TranspositionTable.UNKNOWN;
+                    if (this.table != null) {
+                        this.table.put(hash, cost, this.table.getHeuristic(hash));
+                    }
+                } else {
+                    final long estimates = (this.relaxed == null) ? 0L : this.relaxed.getNumberOfEstimates();
+                    this.walkHeuristics[length - 1] = this.evaluate(hash, cost,
+                                                                    this.relaxed != null && j + 1 < lengthWalk);
+                    h = this.walkHeuristics[length - 1];
+                    helpful = (this.relaxed != null && this.relaxed.getNumberOfEstimates() != estimates) ? 2 : 0;
+                }
+                if (endpoint) {
+                    helpful = 0;
+                }
+            }
+            if (metrics != null) {
+                metrics.walked(steps);
+                metrics.scanned(steps, timed, scanTime);
+                if (deadEnd) {
+                    metrics.deadEnd();
+                }
+            }
+            if (pruned) {
+                continue;
+            }
+
+            // We evaluate the endpoint of the walk if it was not evaluated during the walk.
+            if (endpoint && length > 0) {
+                this.walkHeuristics[length - 1] = this.evaluate(hash, (int) currentState.getCost() + length, false);
+                h = this.walkHeuristics[length - 1];
+            }
+
+            // We learn which actions lead to dead ends.
+            if (this.deadlockAvoidance) {
+                final double failure = (deadEnd || h == Integer.MAX_VALUE) ? 1.0
+                    : (h >= currentState.getHeuristic()) ? WalkWorker.STALL_PENALTY : 0.0;
+                if (logged) {
+                    this.log(ordinal, length, failure);
+                }
+                this.learn(this.walkActions, 0, length, failure);
+            }
+
+            // If the path we evaluate is worthier than the last best one then we replace it.
+            if (h < hmin) {
+                smin = this.materialize(currentState, length);
+                hmin = h;
+            }
+        }
+        return smin;
+    }
+
+    /**
+     * Selects the action applied to the scratch state. With the probability of the planner, the action is selected
+     * uniformly among the helpful actions applicable in the scratch state, otherwise or if there is none, uniformly
+     * among all the applicable actions.
+     *
+     * @param size    the number of actions applicable in the scratch state.
+     * @param helpful the helpful actions of the scratch state: 1 for the initial state of the walks, 2 for the last
+     *                state estimated by the FF heuristic and 0 if they are not known.
+     * @return the action selected.
+     */
+    private int select(int size, int helpful) {
+        if (this.deadlockAvoidance) {
+            return this.sample(size);
+        }
+        if (helpful != 0 && this.randomGenerator.nextDouble() < this.planner.getHelpfulProbability()) {
+            final int n = (helpful == 1) ? this.numberOfInitialHelpful : this.relaxed.getNumberOfHelpfulActions();
+            int numberOfCandidates = 0;
+            for (int k = 0; k < n; k++) {
+                final int a = (helpful == 1) ? this.initialHelpful[k] : this.relaxed.getHelpfulAction(k);
+                if (this.tracker.isApplicable(a)) {
+                    this.candidates[numberOfCandidates++] = a;
+                }
+            }
+            if (numberOfCandidates > 0) {
+                return this.candidates[this.randomGenerator.nextInt(numberOfCandidates)];
+            }
+        }
+        return this.tracker.get(this.randomGenerator.nextInt(size));
+    }
+
+    /**
+     * Samples an applicable action of the scratch state with the Gibbs distribution of the MDA policy.
+     *
+     * @param size the number of actions applicable in the scratch state.
+     * @return the action sampled.
+     */
+    private int sample(int size) {
+        double total = 0.0;
+        for (int k = 0; k < size; k++) {
+            total += this.actionWeights[this.tracker.get(k)];
+        }
+        double r = this.randomGenerator.nextDouble() * total;
+        for (int k = 0; k < size - 1; k++) {
+            r -= this.actionWeights[this.tracker.get(k)];
+            if (r < 0.0) {
+                return this.tracker.get(k);
+            }
+        }
+        return this.tracker.get(size - 1);
+    }
+
+    /**
+     * Updates the statistics and the weights of the actions of a walk for the MDA policy.
+     *
+     * @param walk    the actions of the walk.
+     * @param from    the index of the first action of the walk.
+     * @param to      the index following the last action of the walk.
+     * @param failure the failure of the walk: 1 for a dead end, <code>STALL_PENALTY</code> for a walk without
+     *                progress and 0 otherwise.
+     */
+    private void learn(int[] walk, int from, int to, double failure) {
+        final double temperature = this.planner.getTemperature();
+        for (int k = from; k < to; k++) {
+            final int a = walk[k];
+            this.actionWalks[a]++;
+            this.actionFailures[a] += failure;
+        }
+        for (int k = from; k < to; k++) {
+            final int a = walk[k];
+            this.actionWeights[a] = Math.exp(-this.actionFailures[a] / this.actionWalks[a] / temperature);
+        }
+    }
+
+    /**
+     * Logs the current walk before it is learned, so it can be learned again if some walks of the call are
+     * discarded.
+     *
+     * @param ordinal the ordinal of the walk.
+     * @param length  the number of steps of the walk.
+     * @param failure the failure of the walk.
+     */
+    private void log(int ordinal, int length, double failure) {
+        final int n = this.numberOfLearned;
+        if (n == this.learnedOrdinals.length) {
+            this.learnedOrdinals = Arrays.copyOf(this.learnedOrdinals, 2 * n);
+            this.learnedFailures = Arrays.copyOf(this.learnedFailures, 2 * n);
+            this.learnedEnds = Arrays.copyOf(this.learnedEnds, 2 * n);
+        }
+        final int from = (n == 0) ? 0 : this.learnedEnds[n - 1];
+        if (from + length > this.learnedActions.length) {
+            this.learnedActions = Arrays.copyOf(this.learnedActions, Math.max(2 * this.learnedActions.length,
+                                                                              from + length));
+        }
+        System.arraycopy(this.walkActions, 0, this.learnedActions, from, length);
+        this.learnedOrdinals[n] = ordinal;
+        this.learnedFailures[n] = failure;
+        this.learnedEnds[n] = from + length;
+        this.numberOfLearned++;
+    }
+
+    /**
+     * Forgets the walks of the last call whose ordinal is higher than the lowest ordinal of the walks that reached
+     * the goal. The statistics of the MDA policy saved before the call are restored and the walks kept are learned
+     * again in the same order, so the statistics are the same as if the discarded walks had never been run.
+     *
+     * @param winner the lowest ordinal of the walks that reached the goal.
+     */
+    public void discard(int winner) {
+        int kept = 0;
+        while (kept < this.numberOfLearned && this.learnedOrdinals[kept] <= winner) {
+            kept++;
+        }
+        if (kept == this.numberOfLearned) {
+            return;
+        }
+        this.restoreStatistics();
+        for (int k = 0; k < kept; k++) {
+            this.learn(this.learnedActions, (k == 0) ? 0 : this.learnedEnds[k - 1], this.learnedEnds[k],
+                       this.learnedFailures[k]);
+        }
+        this.numberOfLearned = kept;
+    }
+
+    /**
+     * Restores the statistics and the weights of the actions of the MDA policy saved before the current call to the
+     * walks.
+     */
+    private void restoreStatistics() {
+        final double temperature = this.planner.getTemperature();
+        for (int a = 0; a < this.actionWalks.length; a++) {
+            if (this.actionWalks[a] != this.savedActionWalks[a]) {
+                this.actionWalks[a] = this.savedActionWalks[a];
+                this.actionFailures[a] = this.savedActionFailures[a];
+                this.actionWeights[a] = (this.actionWalks[a] == 0) ? 1.0
+                    : Math.exp(-this.actionFailures[a] / this.actionWalks[a] / temperature);
+            }
+        }
+    }
+
+    /**
+     * Returns the heuristic value of the scratch state. The value is looked for in the transposition table before
+     * being computed, unless the helpful actions of the state are needed, which the table does not store.
+     *
+     * @param hash    the hash of the scratch state.
+     * @param cost    the cost to reach the scratch state.
+     * @param helpful whether the helpful actions of the scratch state are needed by the next step of the walk.
+     * @return the heuristic value of the scratch state.
+     */
+    private int evaluate(long hash, int cost, boolean helpful) {
+        if (this.table != null && !helpful) {
+            final int known = this.table.getHeuristic(hash);
+            if (known != TranspositionTable.UNKNOWN) {
+                this.table.put(hash, cost, known);
+                return known;
+            }
+        }
+        final int h = this.heuristic.estimate(this.scratch, this.goal);
+        if (this.table != null) {
+            this.table.put(hash, cost, h);
+        }
+        return h;
+    }
+
+    /**
+     * Returns the number of facts of the goal not satisfied in the scratch state.
+     *
+     * @return the number of facts of the goal not satisfied in the scratch state.
+     */
+    private int countUnsatisfiedGoals() {
+        final BitVector positive = this.goal.getPositiveFluents();
+        final BitVector negative = this.goal.getNegativeFluents();
+        int unsatisfied = 0;
+        for (int f = positive.nextSetBit(0); f >= 0; f = positive.nextSetBit(f + 1)) {
+            if (!this.scratch.get(f)) {
+                unsatisfied++;
+            }
+        }
+        for (int f = negative.nextSetBit(0); f >= 0; f = negative.nextSetBit(f + 1)) {
+            if (this.scratch.get(f)) {
+                unsatisfied++;
+            }
+        }
+        return unsatisfied;
+    }
+
+    /**
+     * Returns the change of the number of unsatisfied goals caused by a changed fact.
+     *
+     * @param flip the changed fact, encoded as in the log of the tracker.
+     * @return the change of the number of unsatisfied goals.
+     */
+    private int goalDelta(int flip) {
+        final int fact = flip >>> 1;
+        final int sign = ((flip & 1) == 1) ? -1 : 1;
+        int delta = 0;
+        if (this.goal.getPositiveFluents().get(fact)) {
+            delta += sign;
+        }
+        if (this.goal.getNegativeFluents().get(fact)) {
+            delta -= sign;
+        }
+        return delta;
+    }
+
+    /**
+     * Creates the nodes of the current walk. Each node only stores the changed facts logged at its step.
+     *
+     * @param currentState the initial state of the walk.
+     * @param length       the number of steps of the walk.
+     * @return the node reached at the end of the walk.
+     */
+    private Node materialize(Node currentState, int length) {
+        Node node = currentState;
+        int from = 0;
+        for (int k = 0; k < length; k++) {
+            node = new Node(node, this.walkActions[k], this.tracker.getFlips(from, this.walkFlips[k]),
+                            node.getCost() + 1, this.walkHeuristics[k]);
+            from = this.walkFlips[k];
+        }
+        return node;
+    }
+}
@@ -0,0 +1,432 @@
+package fr.uga.pddl4j.exercise.util;
+
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.problem.operator.Effect;
+import fr.uga.pddl4j.util.BitVector;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class tracks incrementally the actions applicable in a state modified by the application of actions. It keeps
+ * for each action the number of its preconditions not satisfied in the state and for each fact the actions watching
+ * it, i.e., the actions having the fact in their positive or negative preconditions. When a fact changes, only the
+ * counters of its watchers are updated. The applicable actions are kept in a dense array so that an applicable
+ * action can be drawn in constant time.
+ *
+ * <p>The facts changed since the last reset are logged. The log is used as an undo log to rewind the state and the
+ * tracker to the state of the last reset without recomputing all the counters, and to replay the changes of a walk
+ * as the delta of a node. The numeric preconditions of the actions are not tracked.</p>
+ *
+ * <p>A tracker is not thread-safe. The watch lists are immutable and shared by the copies of a tracker, so each
+ * thread should use its own copy.</p>
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public final class ApplicabilityTracker {
+
+    /**
+     * The actions of the problem.
+     */
+    private final List<Action> actions;
+
+    /**
+     * The index in <code>positiveWatchers</code> of the first action watching each fact positively. The watchers of
+     * the fact <code>f</code> are stored between <code>positiveStarts[f]</code> and
+     * <code>positiveStarts[f + 1]</code>.
+     */
+    private final int[] positiveStarts;
+
+    /**
+     * The actions having a fact in their positive preconditions, grouped by fact.
+     */
+    private final int[] positiveWatchers;
+
+    /**
+     * The index in <code>negativeWatchers</code> of the first action watching each fact negatively.
+     */
+    private final int[] negativeStarts;
+
+    /**
+     * The actions having a fact in their negative preconditions, grouped by fact.
+     */
+    private final int[] negativeWatchers;
+
+    /**
+     * The number of preconditions of each action not satisfied in the current state.
+     */
+    private final int[] unsatisfied;
+
+    /**
+     * The applicable actions in the current state.
+     */
+    private final int[] applicable;
+
+    /**
+     * The position of each action in <code>applicable</code> or -1 if the action is not applicable.
+     */
+    private final int[] positions;
+
+    /**
+     * The number of applicable actions in the current state.
+     */
+    private int size;
+
+    /**
+     * The facts changed since the last reset. A fact <code>f</code> set to true is logged as <code>2 * f + 1</code>
+     * and a fact set to false as <code>2 * f</code>.
+     */
+    private int[] flips;
+
+    /**
+     * The number of facts logged in <code>flips</code>.
+     */
+    private int numberOfFlips;
+
+    /**
+     * The conditional effects of the action being applied whose condition holds before its application.
+     */
+    private boolean[] fired;
+
+    /**
+     * Creates a new tracker for a list of actions.
+     *
+     * @param actions the actions of the problem.
+     */
+    public ApplicabilityTracker(final List<Action> actions) {
+        this.actions = actions;
+        int numberOfFacts = 0;
+        for (Action a : actions) {
+            final Condition precondition = a.getPrecondition();
+            numberOfFacts = Math.max(numberOfFacts, precondition.getPositiveFluents().length());
+            numberOfFacts = Math.max(numberOfFacts, precondition.getNegativeFluents().length());
+        }
+        this.positiveStarts = new int[numberOfFacts + 1];
+        this.negativeStarts = new int[numberOfFacts + 1];
+        for (Action a : actions) {
+            final Condition precondition = a.getPrecondition();
+            ApplicabilityTracker.count(precondition.getPositiveFluents(), this.positiveStarts);
+            ApplicabilityTracker.count(precondition.getNegativeFluents(), this.negativeStarts);
+        }
+        this.positiveWatchers = new int[ApplicabilityTracker.accumulate(this.positiveStarts)];
+        this.negativeWatchers = new int[ApplicabilityTracker.accumulate(this.negativeStarts)];
+        final int[] positiveNext = Arrays.copyOf(this.positiveStarts, numberOfFacts);
+        final int[] negativeNext = Arrays.copyOf(this.negativeStarts, numberOfFacts);
+        for (int i = 0; i < actions.size(); i++) {
+            final Condition precondition = actions.get(i).getPrecondition();
+            ApplicabilityTracker.fill(precondition.getPositiveFluents(), i, positiveNext, this.positiveWatchers);
+            ApplicabilityTracker.fill(precondition.getNegativeFluents(), i, negativeNext, this.negativeWatchers);
+        }
+        this.unsatisfied = new int[actions.size()];
+        this.applicable = new int[actions.size()];
+        this.positions = new int[actions.size()];
+        this.flips = new int[64];
+        this.fired = new boolean[1];
+    }
+
+    /**
+     * Creates a new tracker sharing the watch lists of another tracker. The new tracker has no current state and must
+     * be reset before use.
+     *
+     * @param other the other tracker.
+     */
+    public ApplicabilityTracker(final ApplicabilityTracker other) {
+        this.actions = other.actions;
+        this.positiveStarts = other.positiveStarts;
+        this.positiveWatchers = other.positiveWatchers;
+        this.negativeStarts = other.negativeStarts;
+        this.negativeWatchers = other.negativeWatchers;
+        this.unsatisfied = new int[this.actions.size()];
+        this.applicable = new int[this.actions.size()];
+        this.positions = new int[this.actions.size()];
+        this.flips = new int[64];
+        this.fired = new boolean[1];
+    }
+
+    /**
+     * Counts the facts of a bit vector in the slot following each fact.
+     *
+     * @param facts  the facts.
+     * @param counts the counts.
+     */
+    private static void count(final BitVector facts, final int[] counts) {
+        for (int f = facts.nextSetBit(0); f >= 0; f = facts.nextSetBit(f + 1)) {
+            counts[f + 1]++;
+        }
+    }
+
+    /**
+     * Turns counts into start indexes and returns the total count.
+     *
+     * @param starts the counts to accumulate.
+     * @return the total count.
+     */
+    private static int accumulate(final int[] starts) {
+        for (int f = 1; f < starts.length; f++) {
+            starts[f] += starts[f - 1];
+        }
+        return starts[starts.length - 1];
+    }
+
+    /**
+     * Adds an action to the watch lists of the facts of a bit vector.
+     *
+     * @param facts    the facts.
+     * @param action   the action.
+     * @param next     the next free index of the watch list of each fact.
+     * @param watchers the watch lists.
+     */
+    private static void fill(final BitVector facts, final int action, final int[] next, final int[] watchers) {
+        for (int f = facts.nextSetBit(0); f >= 0; f = facts.nextSetBit(f + 1)) {
+            watchers[next[f]++] = action;
+        }
+    }
+
+    /**
+     * Returns the number of applicable actions in the current state.
+     *
+     * @return the number of applicable actions in the current state.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the applicable action at a specified index of the dense array of applicable actions.
+     *
+     * @param index the index, between 0 and <code>size() - 1</code>.
+     * @return the index of the action in the list of actions of the problem.
+     */
+    public int get(final int index) {
+        return this.applicable[index];
+    }
+
+    /**
+     * Returns if an action is applicable in the current state.
+     *
+     * @param action the index of the action.
+     * @return <code>true</code> if the action is applicable, <code>false</code> otherwise.
+     */
+    public boolean isApplicable(final int action) {
+        return this.positions[action] != -1;
+    }
+
+    /**
+     * Recomputes the counters and the applicable actions of a state and clears the log of the changed facts.
+     *
+     * @param state the state.
+     */
+    public void reset(final State state) {
+        this.size = 0;
+        this.numberOfFlips = 0;
+        for (int a = 0; a < this.actions.size(); a++) {
+            final Condition precondition = this.actions.get(a).getPrecondition();
+            final BitVector positive = precondition.getPositiveFluents();
+            final BitVector negative = precondition.getNegativeFluents();
+            int count = 0;
+            for (int f = positive.nextSetBit(0); f >= 0; f = positive.nextSetBit(f + 1)) {
+                if (!state.get(f)) {
+                    count++;
+                }
+            }
+            for (int f = negative.nextSetBit(0); f >= 0; f = negative.nextSetBit(f + 1)) {
+                if (state.get(f)) {
+                    count++;
+                }
+            }
+            this.unsatisfied[a] = count;
+            this.positions[a] = -1;
+            if (count == 0) {
+                this.add(a);
+            }
+        }
+    }
+
+    /**
+     * Rewinds a state, the counters and the applicable actions to the state of the last reset by undoing the changed
+     * facts logged in reverse order.
+     *
+     * @param state the state modified since the last reset, rewound in place.
+     */
+    public void rewind(final State state) {
+        this.rewind(state, 0);
+    }
+
+    /**
+     * Rewinds a state, the counters and the applicable actions to a mark of the log by undoing the changed facts
+     * logged after the mark in reverse order.
+     *
+     * @param state the state modified since the last reset, rewound in place.
+     * @param mark  the number of changed facts to keep in the log.
+     */
+    public void rewind(final State state, final int mark) {
+        while (this.numberOfFlips > mark) {
+            final int flip = this.flips[--this.numberOfFlips];
+            final int fact = flip >>> 1;
+            if ((flip & 1) == 1) {
+                state.clear(fact);
+                this.onFalse(fact);
+            } else {
+                state.set(fact);
+                this.onTrue(fact);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of changed facts logged since the last reset. This number can be used as a mark to replay a
+     * part of the log.
+     *
+     * @return the number of changed facts logged since the last reset.
+     */
+    public int getNumberOfFlips() {
+        return this.numberOfFlips;
+    }
+
+    /**
+     * Returns a changed fact of the log. A fact set is encoded as <code>2f + 1</code> and a fact cleared as
+     * <code>2f</code>.
+     *
+     * @param index the index of the changed fact in the log.
+     * @return the changed fact.
+     */
+    public int getFlip(final int index) {
+        return this.flips[index];
+    }
+
+    /**
+     * Returns a copy of a part of the log of the changed facts. A fact set is encoded as <code>2f + 1</code> and a
+     * fact cleared as <code>2f</code>.
+     *
+     * @param from the index of the first changed fact to copy.
+     * @param to   the index following the last changed fact to copy.
+     * @return the changed facts logged between the two indexes.
+     */
+    public int[] getFlips(final int from, final int to) {
+        return Arrays.copyOfRange(this.flips, from, to);
+    }
+
+    /**
+     * Applies the effects of an action to a state and updates the counters of the actions watching the changed facts.
+     * The conditions of the conditional effects are evaluated in the state before the application of the action, as
+     * <code>ASP</code> does.
+     *
+     * @param action the action to apply.
+     * @param state  the state modified in place.
+     */
+    public void apply(final Action action, final State state) {
+        final List<ConditionalEffect> effects = action.getConditionalEffects();
+        if (this.fired.length < effects.size()) {
+            this.fired = new boolean[effects.size()];
+        }
+        for (int i = 0; i < effects.size(); i++) {
+            this.fired[i] = state.satisfy(effects.get(i).getCondition());
+        }
+        for (int i = 0; i < effects.size(); i++) {
+            if (this.fired[i]) {
+                final Effect effect = effects.get(i).getEffect();
+                final BitVector negative = effect.getNegativeFluents();
+                for (int f = negative.nextSetBit(0); f >= 0; f = negative.nextSetBit(f + 1)) {
+                    if (state.get(f)) {
+                        state.clear(f);
+                        this.log(f << 1);
+                        this.onFalse(f);
+                    }
+                }
+                final BitVector positive = effect.getPositiveFluents();
+                for (int f = positive.nextSetBit(0); f >= 0; f = positive.nextSetBit(f + 1)) {
+                    if (!state.get(f)) {
+                        state.set(f);
+                        this.log((f << 1) | 1);
+                        this.onTrue(f);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Logs a changed fact.
+     *
+     * @param flip the changed fact encoded as in <code>flips</code>.
+     */
+    private void log(final int flip) {
+        if (this.numberOfFlips == this.flips.length) {
+            this.flips = Arrays.copyOf(this.flips, this.flips.length * 2);
+        }
+        this.flips[this.numberOfFlips++] = flip;
+    }
+
+    /**
+     * Updates the counters of the actions watching a fact that becomes true.
+     *
+     * @param fact the fact.
+     */
+    private void onTrue(final int fact) {
+        if (fact >= this.positiveStarts.length - 1) {
+            return;
+        }
+        for (int i = this.positiveStarts[fact]; i < this.positiveStarts[fact + 1]; i++) {
+            final int a = this.positiveWatchers[i];
+            if (--this.unsatisfied[a] == 0) {
+                this.add(a);
+            }
+        }
+        for (int i = this.negativeStarts[fact]; i < this.negativeStarts[fact + 1]; i++) {
+            final int a = this.negativeWatchers[i];
+            if (this.unsatisfied[a]++ == 0) {
+                this.remove(a);
+            }
+        }
+    }
+
+    /**
+     * Updates the counters of the actions watching a fact that becomes false.
+     *
+     * @param fact the fact.
+     */
+    private void onFalse(final int fact) {
+        if (fact >= this.positiveStarts.length - 1) {
+            return;
+        }
+        for (int i = this.positiveStarts[fact]; i < this.positiveStarts[fact + 1]; i++) {
+            final int a = this.positiveWatchers[i];
+            if (this.unsatisfied[a]++ == 0) {
+                this.remove(a);
+            }
+        }
+        for (int i = this.negativeStarts[fact]; i < this.negativeStarts[fact + 1]; i++) {
+            final int a = this.negativeWatchers[i];
+            if (--this.unsatisfied[a] == 0) {
+                this.add(a);
+            }
+        }
+    }
+
+    /**
+     * Adds an action to the dense array of applicable actions.
+     *
+     * @param action the action.
+     */
+    private void add(final int action) {
+        this.positions[action] = this.size;
+        this.applicable[this.size++] = action;
+    }
+
+    /**
+     * Removes an action from the dense array of applicable actions by moving the last action in its place.
+     *
+     * @param action the action.
+     */
+    private void remove(final int action) {
+        final int position = this.positions[action];
+        final int last = this.applicable[--this.size];
+        this.applicable[position] = last;
+        this.positions[last] = position;
+        this.positions[action] = -1;
+    }
+}
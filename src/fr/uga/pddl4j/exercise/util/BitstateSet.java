@@ -0,0 +1,222 @@
+package fr.uga.pddl4j.exercise.util;
+
+import fr.uga.pddl4j.util.BitVector;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * This class implements a bitstate set of states, or supertrace, as the one of the model checker SPIN. A state is
+ * recorded by setting <code>k</code> bits of a large bit array chosen by hashing its words, and it is considered as
+ * already recorded when its <code>k</code> bits are all set. A state takes a few bits instead of a full copy, but two
+ * states may be confused: a new state whose bits were all set by other states is wrongly considered as recorded, so a
+ * search using the set may miss a part of the state space. A state recorded is never reported as new.
+ *
+ * <p>The bit array is stored off the heap in direct buffers of at most 1 GB each, so it is not scanned by the garbage
+ * collector and can hold more than 2^31 longs. The direct memory available is bounded by the JVM option
+ * <code>-XX:MaxDirectMemorySize</code>, which is the maximum size of the heap by default.</p>
+ *
+ * <p>The <code>k</code> bits of a state are computed by double hashing from two 64-bit hashes of its words. The
+ * probability that a new state is confused with the states already recorded is <code>f^k</code> where
+ * <code>f</code> is the fraction of the bits set, which the set counts as it goes.</p>
+ *
+ * <p>A bitstate set is not thread-safe.</p>
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public final class BitstateSet {
+
+    /**
+     * The base 2 logarithm of the number of longs of a segment, i.e., 1 GB segments.
+     */
+    private static final int SEGMENT_SHIFT = 27;
+
+    /**
+     * The segments of the bit array.
+     */
+    private final LongBuffer[] segments;
+
+    /**
+     * The number of bits of the array, a power of two.
+     */
+    private final long bits;
+
+    /**
+     * The mask used to compute the index of a bit.
+     */
+    private final long mask;
+
+    /**
+     * The number of bits set for each state.
+     */
+    private final int hashes;
+
+    /**
+     * The number of bits set in the array.
+     */
+    private long bitsSet;
+
+    /**
+     * The number of states recorded.
+     */
+    private long size;
+
+    /**
+     * Creates a new empty bitstate set. The size is rounded up to a power of two.
+     *
+     * @param bytes  the size of the bit array in bytes.
+     * @param hashes the number of bits set for each state.
+     * @throws IllegalArgumentException if the size or the number of bits by state is not strictly positive.
+     */
+    public BitstateSet(final long bytes, final int hashes) {
+        if (bytes <= 0L) {
+            throw new IllegalArgumentException("Bytes <= 0");
+        }
+        if (hashes <= 0) {
+            throw new IllegalArgumentException("Hashes <= 0");
+        }
+        final long longs = Math.max(1L, Long.highestOneBit((bytes + Long.BYTES - 1) / Long.BYTES - 1) << 1);
+        final long perSegment = Math.min(longs, 1L << BitstateSet.SEGMENT_SHIFT);
+        this.segments = new LongBuffer[(int) (longs / perSegment)];
+        for (int i = 0; i < this.segments.length; i++) {
+            this.segments[i] = ByteBuffer.allocateDirect((int) (perSegment * Long.BYTES))
+                .order(ByteOrder.nativeOrder()).asLongBuffer();
+        }
+        this.bits = longs * Long.SIZE;
+        this.mask = this.bits - 1;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Records a state unless it is considered as already recorded.
+     *
+     * @param state the state.
+     * @return <code>true</code> if the state is new, i.e., if one of its bits was not set, <code>false</code> if the
+     *     state was recorded or is confused with the states recorded.
+     */
+    public boolean add(final BitVector state) {
+        final long[] words = state.toLongArray();
+        final long h1 = BitstateSet.hash(words, 0x9E3779B97F4A7C15L);
+        final long h2 = BitstateSet.hash(words, 0xC2B2AE3D27D4EB4FL) | 1L;
+        boolean added = false;
+        for (int i = 0; i < this.hashes; i++) {
+            final long bit = (h1 + i * h2) & this.mask;
+            final long index = bit >>> 6;
+            final LongBuffer segment = this.segments[(int) (index >>> BitstateSet.SEGMENT_SHIFT)];
+            final int offset = (int) (index & ((1L << BitstateSet.SEGMENT_SHIFT) - 1));
+            final long word = segment.get(offset);
+            final long flag = 1L << (bit & 63);
+            if ((word & flag) == 0L) {
+                segment.put(offset, word | flag);
+                this.bitsSet++;
+                added = true;
+            }
+        }
+        if (added) {
+            this.size++;
+        }
+        return added;
+    }
+
+    /**
+     * Returns whether a state is considered as recorded, i.e., whether all its bits are set.
+     *
+     * @param state the state.
+     * @return <code>true</code> if the state was recorded or is confused with the states recorded,
+     *     <code>false</code> otherwise.
+     */
+    public boolean contains(final BitVector state) {
+        final long[] words = state.toLongArray();
+        final long h1 = BitstateSet.hash(words, 0x9E3779B97F4A7C15L);
+        final long h2 = BitstateSet.hash(words, 0xC2B2AE3D27D4EB4FL) | 1L;
+        for (int i = 0; i < this.hashes; i++) {
+            final long bit = (h1 + i * h2) & this.mask;
+            final long index = bit >>> 6;
+            final LongBuffer segment = this.segments[(int) (index >>> BitstateSet.SEGMENT_SHIFT)];
+            if ((segment.get((int) (index & ((1L << BitstateSet.SEGMENT_SHIFT) - 1))) & (1L << (bit & 63))) == 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of states recorded.
+     *
+     * @return the number of states recorded.
+     */
+    public long size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of bits of the array.
+     *
+     * @return the number of bits of the array.
+     */
+    public long getBits() {
+        return this.bits;
+    }
+
+    /**
+     * Returns the fraction of the bits set.
+     *
+     * @return the fraction of the bits set.
+     */
+    public double getFillRatio() {
+        return (double) this.bitsSet / this.bits;
+    }
+
+    /**
+     * Returns the probability that a new state is confused with the states recorded, i.e., that its bits are all
+     * set.
+     *
+     * @return the current false positive rate.
+     */
+    public double getFalsePositiveRate() {
+        return Math.pow(this.getFillRatio(), this.hashes);
+    }
+
+    /**
+     * Returns the number of states the set can record before its false positive rate reaches a given rate, computed
+     * from the expected fill ratio <code>1 - exp(-k n / m)</code> after <code>n</code> states.
+     *
+     * @param rate the false positive rate.
+     * @return the number of states recorded at this rate.
+     */
+    public long getCapacity(final double rate) {
+        final double fill = Math.pow(rate, 1.0 / this.hashes);
+        return (long) (-Math.log(1.0 - fill) * this.bits / this.hashes);
+    }
+
+    /**
+     * Returns a string representation of this set.
+     *
+     * @return a string representation of this set.
+     */
+    @Override
+    public String toString() {
+        return String.format("states=%d, memory=%d MB, k=%d, fill=%.4f%%, false positive rate=%.3e, "
+                + "capacity at 1e-3=%d states", this.size, this.bits / 8 / (1024 * 1024), this.hashes,
+            100.0 * this.getFillRatio(), this.getFalsePositiveRate(), this.getCapacity(1e-3));
+    }
+
+    /**
+     * Returns a 64-bit hash of the words of a state.
+     *
+     * @param words the words of the state.
+     * @param seed  the seed of the hash.
+     * @return the hash of the words.
+     */
+    private static long hash(final long[] words, final long seed) {
+        long hash = seed;
+        for (long word : words) {
+            hash = (hash ^ word) * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 29;
+        }
+        hash *= 0xD6E8FEB86659FD93L;
+        return hash ^ (hash >>> 32);
+    }
+}
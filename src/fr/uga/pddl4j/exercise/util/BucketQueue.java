@@ -0,0 +1,331 @@
+package fr.uga.pddl4j.exercise.util;
+
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.ToIntFunction;
+
+/**
+ * This class implements a priority queue for small non-negative integer priorities, as the f-values of a search with
+ * unit costs and an integer heuristic. The elements are stored in an array of buckets indexed by their priority, and
+ * each bucket is split by a second integer key breaking the ties, the lowest first, as the heuristic value of the
+ * nodes. The elements with the same priority and tie-breaker are polled in LIFO order.
+ *
+ * <p>An element is added in constant time, and the polls scan the buckets from the lowest non-empty one, which only
+ * moves up between two insertions with a lower priority. The priority and the tie-breaker of an element are read once
+ * when it is added and must be non-negative. The elements whose priority or tie-breaker is higher than
+ * <code>MAX_PRIORITY</code>, e.g., saturated by a large weight of the heuristic, are kept in a binary heap polled once
+ * the buckets are empty, so that the buckets never grow beyond this bound.</p>
+ *
+ * <p>A bucket queue is not thread-safe.</p>
+ *
+ * @param <E> the type of the elements of the queue.
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public final class BucketQueue<E> extends AbstractQueue<E> {
+
+    /**
+     * The initial capacity of a stack of elements.
+     */
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * The highest priority and tie-breaker of the elements stored in the buckets.
+     */
+    public static final int MAX_PRIORITY = 1 << 20;
+
+    /**
+     * The function returning the priority of an element, the lowest first.
+     */
+    private final ToIntFunction<? super E> priority;
+
+    /**
+     * The function returning the tie-breaker of an element, the lowest first.
+     */
+    private final ToIntFunction<? super E> tieBreaker;
+
+    /**
+     * The buckets of the elements indexed by their priority, null if no element was added with a priority.
+     */
+    private Bucket[] buckets;
+
+    /**
+     * The elements whose priority or tie-breaker is higher than <code>MAX_PRIORITY</code>, with their keys read again
+     * at each comparison.
+     */
+    private final PriorityQueue<E> overflow;
+
+    /**
+     * A lower bound of the lowest priority of the elements.
+     */
+    private int min;
+
+    /**
+     * The number of elements of the queue.
+     */
+    private int size;
+
+    /**
+     * Creates a new empty bucket queue.
+     *
+     * @param priority   the function returning the priority of an element, the lowest first.
+     * @param tieBreaker the function returning the tie-breaker of an element, the lowest first.
+     */
+    public BucketQueue(final ToIntFunction<? super E> priority, final ToIntFunction<? super E> tieBreaker) {
+        this.priority = priority;
+        this.tieBreaker = tieBreaker;
+        this.buckets = new Bucket[16];
+        this.min = Integer.MAX_VALUE;
+        this.overflow = new PriorityQueue<E>(16, (e1, e2) -> {
+            final int cmp = Integer.compare(priority.applyAsInt(e1), priority.applyAsInt(e2));
+            return (cmp != 0) ? cmp : Integer.compare(tieBreaker.applyAsInt(e1), tieBreaker.applyAsInt(e2));
+        });
+    }
+
+    /**
+     * Adds an element to the queue.
+     *
+     * @param element the element to add.
+     * @return <code>true</code>.
+     * @throws IllegalArgumentException if the priority or the tie-breaker of the element is negative, which is also
+     *     the case of a priority that overflowed.
+     */
+    @Override
+    public boolean offer(final E element) {
+        final int f = this.priority.applyAsInt(element);
+        final int h = this.tieBreaker.applyAsInt(element);
+        if (f < 0 || h < 0) {
+            throw new IllegalArgumentException("Priority < 0");
+        }
+        if (f > BucketQueue.MAX_PRIORITY || h > BucketQueue.MAX_PRIORITY) {
+            this.overflow.offer(element);
+            this.size++;
+            return true;
+        }
+        if (f >= this.buckets.length) {
+            this.buckets = Arrays.copyOf(this.buckets, Math.max(f + 1, this.buckets.length * 2));
+        }
+        if (this.buckets[f] == null) {
+            this.buckets[f] = new Bucket();
+        }
+        this.buckets[f].push(h, element);
+        this.min = Math.min(this.min, f);
+        this.size++;
+        return true;
+    }
+
+    /**
+     * Removes and returns the element with the lowest priority and the lowest tie-breaker.
+     *
+     * @return the element or null if the queue is empty.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        if (this.size == 0) {
+            return null;
+        }
+        if (this.size == this.overflow.size()) {
+            this.size--;
+            return this.overflow.poll();
+        }
+        this.size--;
+        final Bucket bucket = this.first();
+        final E element = (E) bucket.pop();
+        if (this.size == 0) {
+            this.min = Integer.MAX_VALUE;
+        }
+        return element;
+    }
+
+    /**
+     * Returns the element with the lowest priority and the lowest tie-breaker without removing it.
+     *
+     * @return the element or null if the queue is empty.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        return (this.size == 0) ? null : (this.size == this.overflow.size()) ? this.overflow.peek()
+            : (E) this.first().top();
+    }
+
+    /**
+     * Returns the number of elements of the queue.
+     *
+     * @return the number of elements of the queue.
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes all the elements of the queue.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(this.buckets, null);
+        this.overflow.clear();
+        this.min = Integer.MAX_VALUE;
+        this.size = 0;
+    }
+
+    /**
+     * Returns an iterator over the elements of the queue in no particular order, the elements of the buckets first.
+     * The iterator does not support the removal of the elements.
+     *
+     * @return an iterator over the elements of the queue.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        final Iterator<E> overflowed = this.overflow.iterator();
+        return new Iterator<E>() {
+            private int f = 0;
+            private int h = 0;
+            private int i = 0;
+
+            @Override
+            public boolean hasNext() {
+                while (this.f < BucketQueue.this.buckets.length) {
+                    final Bucket bucket = BucketQueue.this.buckets[this.f];
+                    if (bucket != null) {
+                        while (this.h < bucket.sizes.length) {
+                            if (this.i < bucket.sizes[this.h]) {
+                                return true;
+                            }
+                            this.h++;
+                            this.i = 0;
+                        }
+                    }
+                    this.f++;
+                    this.h = 0;
+                    this.i = 0;
+                }
+                return overflowed.hasNext();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (this.f < BucketQueue.this.buckets.length)
+                    ? (E) BucketQueue.this.buckets[this.f].stacks[this.h][this.i++] : overflowed.next();
+            }
+        };
+    }
+
+    /**
+     * Returns the non-empty bucket with the lowest priority. The queue must not be empty.
+     *
+     * @return the non-empty bucket with the lowest priority.
+     */
+    private Bucket first() {
+        while (this.buckets[this.min] == null || this.buckets[this.min].count == 0) {
+            this.min++;
+        }
+        return this.buckets[this.min];
+    }
+
+    /**
+     * This class implements the bucket of the elements of a priority, split in stacks by tie-breaker.
+     */
+    private static final class Bucket {
+
+        /**
+         * The stacks of the elements indexed by their tie-breaker.
+         */
+        private Object[][] stacks;
+
+        /**
+         * The number of elements of each stack.
+         */
+        private int[] sizes;
+
+        /**
+         * A lower bound of the lowest tie-breaker of the elements.
+         */
+        private int min;
+
+        /**
+         * The number of elements of the bucket.
+         */
+        private int count;
+
+        /**
+         * Creates a new empty bucket.
+         */
+        Bucket() {
+            this.stacks = new Object[BucketQueue.INITIAL_CAPACITY][];
+            this.sizes = new int[BucketQueue.INITIAL_CAPACITY];
+            this.min = Integer.MAX_VALUE;
+        }
+
+        /**
+         * Pushes an element on the stack of its tie-breaker.
+         *
+         * @param h       the tie-breaker of the element.
+         * @param element the element.
+         */
+        void push(final int h, final Object element) {
+            if (h >= this.stacks.length) {
+                final int length = Math.max(h + 1, this.stacks.length * 2);
+                this.stacks = Arrays.copyOf(this.stacks, length);
+                this.sizes = Arrays.copyOf(this.sizes, length);
+            }
+            Object[] stack = this.stacks[h];
+            if (stack == null) {
+                stack = new Object[BucketQueue.INITIAL_CAPACITY];
+                this.stacks[h] = stack;
+            } else if (this.sizes[h] == stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+                this.stacks[h] = stack;
+            }
+            stack[this.sizes[h]++] = element;
+            this.min = Math.min(this.min, h);
+            this.count++;
+        }
+
+        /**
+         * Pops the last element pushed with the lowest tie-breaker. The bucket must not be empty.
+         *
+         * @return the element.
+         */
+        Object pop() {
+            final int h = this.lowest();
+            final Object element = this.stacks[h][--this.sizes[h]];
+            this.stacks[h][this.sizes[h]] = null;
+            if (--this.count == 0) {
+                this.min = Integer.MAX_VALUE;
+            }
+            return element;
+        }
+
+        /**
+         * Returns the last element pushed with the lowest tie-breaker. The bucket must not be empty.
+         *
+         * @return the element.
+         */
+        Object top() {
+            final int h = this.lowest();
+            return this.stacks[h][this.sizes[h] - 1];
+        }
+
+        /**
+         * Returns the lowest tie-breaker of the elements. The bucket must not be empty.
+         *
+         * @return the lowest tie-breaker of the elements.
+         */
+        private int lowest() {
+            while (this.sizes[this.min] == 0) {
+                this.min++;
+            }
+            return this.min;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package fr.uga.pddl4j.exercise.util;
+
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.planners.statespace.search.Node;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Condition;
+
+/**
+ * This class implements a decorator of a heuristic that looks for the heuristic value of a state in a
+ * {@link HeuristicCache} before computing it. The cache can be shared by several decorators, but a decorator is only
+ * as thread-safe as the heuristic it decorates, so each thread should decorate its own instance of the heuristic.
+ *
+ * <p>The values are cached for a single goal: all the decorators sharing a cache must estimate the distance to the
+ * same goal.</p>
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public final class CachedHeuristic implements StateHeuristic {
+
+    /**
+     * The serial id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The heuristic decorated.
+     */
+    private final StateHeuristic heuristic;
+
+    /**
+     * The cache of the heuristic values.
+     */
+    private final transient HeuristicCache cache;
+
+    /**
+     * Creates a new cached heuristic.
+     *
+     * @param heuristic the heuristic decorated.
+     * @param cache     the cache of the heuristic values.
+     */
+    public CachedHeuristic(final StateHeuristic heuristic, final HeuristicCache cache) {
+        this.heuristic = heuristic;
+        this.cache = cache;
+    }
+
+    /**
+     * Returns the cache of the heuristic values.
+     *
+     * @return the cache of the heuristic values.
+     */
+    public HeuristicCache getCache() {
+        return this.cache;
+    }
+
+    /**
+     * Returns the estimated distance to the goal from a state, looking first for it in the cache.
+     *
+     * @param state the state.
+     * @param goal  the goal.
+     * @return the estimated distance to the goal.
+     */
+    @Override
+    public int estimate(final State state, final Condition goal) {
+        final long fingerprint = HeuristicCache.fingerprint(state);
+        int value = this.cache.get(fingerprint);
+        if (value == HeuristicCache.UNKNOWN) {
+            value = this.heuristic.estimate(state, goal);
+            this.cache.put(fingerprint, value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the estimated distance to the goal from a node, looking first for its state in the cache.
+     *
+     * @param node the node.
+     * @param goal the goal.
+     * @return the estimated distance to the goal.
+     */
+    @Override
+    public double estimate(final Node node, final Condition goal) {
+        return this.estimate((State) node, goal);
+    }
+
+    /**
+     * Returns if the heuristic decorated is admissible.
+     *
+     * @return <code>true</code> if the heuristic decorated is admissible.
+     */
+    @Override
+    public boolean isAdmissible() {
+        return this.heuristic.isAdmissible();
+    }
+}
@@ -0,0 +1,114 @@
+package fr.uga.pddl4j.exercise.util;
+
+import fr.uga.pddl4j.util.BitVector;
+
+/**
+ * This interface defines the closed list of a best-first search. Each state gets an index in the order it is added,
+ * and the index gives the best known cost of the state, the index of its parent and the action applied to reach it,
+ * so the plans can be extracted without keeping the nodes of the search.
+ *
+ * <p>The list can also hold the states generated but not expanded yet, so that a search detects the duplicates
+ * as soon as they are generated. A state is then marked closed when it is expanded, and it is reopened when it is
+ * reached by a cheaper path.</p>
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ * @see HeapClosedList
+ * @see MappedClosedList
+ */
+public interface ClosedList {
+
+    /**
+     * The index returned when a state is not in the list, and the parent index of the root.
+     */
+    int NONE = -1;
+
+    /**
+     * Returns the number of states of the list.
+     *
+     * @return the number of states of the list.
+     */
+    int size();
+
+    /**
+     * Returns the index of a state.
+     *
+     * @param state the state.
+     * @return the index of the state or <code>NONE</code> if the state is not in the list.
+     */
+    int find(BitVector state);
+
+    /**
+     * Adds a state to the list, not closed. If the state is already in the list, the list is not changed, so a search
+     * tells a new state from a known one by the size of the list, with a single probe of the list.
+     *
+     * @param state  the state.
+     * @param cost   the cost to reach the state.
+     * @param parent the index of the parent of the state or <code>NONE</code> for the root.
+     * @param action the action applied to reach the state from its parent.
+     * @return the index of the state.
+     */
+    int add(BitVector state, int cost, int parent, int action);
+
+    /**
+     * Replaces the path to a state by a cheaper one. The state is reopened if it was closed.
+     *
+     * @param index  the index of the state.
+     * @param cost   the new cost to reach the state.
+     * @param parent the index of the new parent of the state.
+     * @param action the action applied to reach the state from its new parent.
+     */
+    void update(int index, int cost, int parent, int action);
+
+    /**
+     * Marks a state as expanded.
+     *
+     * @param index the index of the state.
+     */
+    void close(int index);
+
+    /**
+     * Returns whether a state is expanded.
+     *
+     * @param index the index of the state.
+     * @return <code>true</code> if the state is expanded, <code>false</code> otherwise.
+     */
+    boolean isClosed(int index);
+
+    /**
+     * Returns the best known cost of a state.
+     *
+     * @param index the index of the state.
+     * @return the best known cost of the state.
+     */
+    int getCost(int index);
+
+    /**
+     * Returns the index of the parent of a state.
+     *
+     * @param index the index of the state.
+     * @return the index of the parent of the state or <code>NONE</code> for the root.
+     */
+    int getParent(int index);
+
+    /**
+     * Returns the action applied to reach a state from its parent.
+     *
+     * @param index the index of the state.
+     * @return the action applied to reach the state.
+     */
+    int getAction(int index);
+
+    /**
+     * Returns the number of bytes of the heap used by the list.
+     *
+     * @return the number of bytes of the heap used by the list.
+     */
+    long getMemoryUsed();
+
+    /**
+     * Releases the resources held by the list outside the heap. The list must not be used afterwards.
+     */
+    default void release() {
+    }
+}
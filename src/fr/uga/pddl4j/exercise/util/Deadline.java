@@ -0,0 +1,149 @@
+package fr.uga.pddl4j.exercise.util;
+
+/**
+ * This class implements a deadline polled cooperatively by the inner loops of a search. The deadline is measured with
+ * <code>System.nanoTime()</code>, so it does not depend on the changes of the wall clock, and it can be cancelled at
+ * any time from another thread.
+ *
+ * <p>The inner loops call <code>poll()</code> at each step. The cancellation flag is read at each call, but the clock
+ * is only read every <code>interval</code> calls, so a search stops at most <code>interval</code> steps after the
+ * deadline and at most one step after a cancellation. Once reached, the deadline stays expired.</p>
+ *
+ * <p>A deadline can be shared by several threads. The counter of the calls is not synchronized: a lost increment
+ * only delays the next reading of the clock by one step.</p>
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public final class Deadline {
+
+    /**
+     * The default number of calls to <code>poll()</code> between two readings of the clock.
+     */
+    public static final int DEFAULT_INTERVAL = 32;
+
+    /**
+     * The time when the deadline was started in ns.
+     */
+    private final long start;
+
+    /**
+     * The time of the deadline in ns.
+     */
+    private final long end;
+
+    /**
+     * The mask of the counter of the calls used to read the clock every interval calls.
+     */
+    private final int mask;
+
+    /**
+     * The number of calls to <code>poll()</code>.
+     */
+    private int calls;
+
+    /**
+     * Whether the deadline is reached or cancelled.
+     */
+    private volatile boolean expired;
+
+    /**
+     * Whether the deadline was cancelled.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Creates a new deadline starting now with the default interval between two readings of the clock.
+     *
+     * @param timeout the time allocated to the search in ms.
+     */
+    public Deadline(final long timeout) {
+        this(timeout, Deadline.DEFAULT_INTERVAL);
+    }
+
+    /**
+     * Creates a new deadline starting now. The interval is rounded up to a power of two.
+     *
+     * @param timeout  the time allocated to the search in ms.
+     * @param interval the number of calls to <code>poll()</code> between two readings of the clock.
+     */
+    public Deadline(final long timeout, final int interval) {
+        if (timeout < 0L) {
+            throw new IllegalArgumentException("Timeout < 0");
+        }
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Interval <= 0");
+        }
+        this.start = System.nanoTime();
+        // We saturate the timeout so that the end of the deadline does not overflow.
+        this.end = this.start + Math.min(timeout, Long.MAX_VALUE / 2_000_000L) * 1_000_000L;
+        this.mask = (interval == 1) ? 0 : Integer.highestOneBit(interval - 1) * 2 - 1;
+    }
+
+    /**
+     * Returns whether the search must stop. The clock is only read every interval calls.
+     *
+     * @return <code>true</code> if the deadline is reached or cancelled, <code>false</code> otherwise.
+     */
+    public boolean poll() {
+        if (this.expired) {
+            return true;
+        }
+        if ((++this.calls & this.mask) != 0) {
+            return false;
+        }
+        return this.isExpired();
+    }
+
+    /**
+     * Returns whether the search must stop. The clock is read at each call.
+     *
+     * @return <code>true</code> if the deadline is reached or cancelled, <code>false</code> otherwise.
+     */
+    public boolean isExpired() {
+        if (this.expired) {
+            return true;
+        }
+        if (System.nanoTime() - this.end >= 0L) {
+            this.expired = true;
+        }
+        return this.expired;
+    }
+
+    /**
+     * Cancels the deadline. The searches polling this deadline stop at their next step.
+     */
+    public void cancel() {
+        this.cancelled = true;
+        this.expired = true;
+    }
+
+    /**
+     * Returns whether the deadline was cancelled.
+     *
+     * @return <code>true</code> if the deadline was cancelled, <code>false</code> otherwise.
+     */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * Returns the time elapsed since the deadline was started in ms.
+     *
+     * @return the time elapsed since the deadline was started in ms.
+     */
+    public long getElapsedTime() {
+        return (System.nanoTime() - this.start) / 1_000_000L;
+    }
+
+    /**
+     * Returns a string representation of this deadline.
+     *
+     * @return a string representation of this deadline.
+     */
+    @Override
+    public String toString() {
+        return (this.cancelled ? "cancelled" : this.expired ? "expired" : "running") + " after "
+            + this.getElapsedTime() + " ms";
+    }
+}
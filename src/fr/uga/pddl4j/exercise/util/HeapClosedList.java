@@ -0,0 +1,337 @@
+package fr.uga.pddl4j.exercise.util;
+
+import fr.uga.pddl4j.util.BitVector;
+
+import java.util.Arrays;
+
+/**
+ * This class implements the closed list of a best-first search over primitive arrays in the heap. The states are
+ * packed in a long arena, one fixed number of words per state, and indexed by an open-addressing table of state
+ * indexes with linear probing. The best known cost of each state, the index of its parent and the action applied to
+ * reach it are stored in arrays indexed by the index of the state.
+ *
+ * <p>The table only holds the indexes of the states, and the packed words are compared directly during the probes,
+ * so the list never confuses two states and a slot takes 4 bytes. The table is doubled with the arena and never
+ * more than half full, and it is rebuilt from the arena.</p>
+ *
+ * <p>A closed list is not thread-safe.</p>
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public final class HeapClosedList implements ClosedList {
+
+    /**
+     * The initial number of states of the list.
+     */
+    private static final int INITIAL_CAPACITY = 1 << 12;
+
+    /**
+     * The number of words used by a packed state.
+     */
+    private final int words;
+
+    /**
+     * The packed states, <code>words</code> words per state.
+     */
+    private long[] arena;
+
+    /**
+     * The best known cost of each state.
+     */
+    private int[] costs;
+
+    /**
+     * The index of the parent of each state or <code>NONE</code> for the root.
+     */
+    private int[] parents;
+
+    /**
+     * The action applied to reach each state from its parent.
+     */
+    private int[] actions;
+
+    /**
+     * Whether each state is expanded.
+     */
+    private boolean[] closed;
+
+    /**
+     * The index of the state of each slot of the table plus one, 0 marking the empty slots.
+     */
+    private int[] slots;
+
+    /**
+     * The mask used to compute the home slot of a fingerprint.
+     */
+    private int mask;
+
+    /**
+     * The number of states of the list.
+     */
+    private int size;
+
+    /**
+     * The buffer receiving the packed words of the state looked for.
+     */
+    private final long[] buffer;
+
+    /**
+     * Creates a new empty closed list.
+     *
+     * @param numberOfFacts the number of facts of the problem.
+     */
+    public HeapClosedList(final int numberOfFacts) {
+        this.words = Math.max(1, (numberOfFacts + Long.SIZE - 1) / Long.SIZE);
+        this.buffer = new long[this.words];
+        this.arena = new long[HeapClosedList.INITIAL_CAPACITY * this.words];
+        this.costs = new int[HeapClosedList.INITIAL_CAPACITY];
+        this.parents = new int[HeapClosedList.INITIAL_CAPACITY];
+        this.actions = new int[HeapClosedList.INITIAL_CAPACITY];
+        this.closed = new boolean[HeapClosedList.INITIAL_CAPACITY];
+        this.slots = new int[HeapClosedList.INITIAL_CAPACITY * 2];
+        this.mask = this.slots.length - 1;
+    }
+
+    /**
+     * Returns the number of states of the list.
+     *
+     * @return the number of states of the list.
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the index of a state.
+     *
+     * @param state the state.
+     * @return the index of the state or <code>NONE</code> if the state is not in the list.
+     */
+    @Override
+    public int find(final BitVector state) {
+        final long key = this.pack(state);
+        final int slot = this.probe(key);
+        return this.slots[slot] - 1;
+    }
+
+    /**
+     * Adds a state to the list, not closed. If the state is already in the list, the list is not changed.
+     *
+     * @param state  the state.
+     * @param cost   the cost to reach the state.
+     * @param parent the index of the parent of the state or <code>NONE</code> for the root.
+     * @param action the action applied to reach the state from its parent.
+     * @return the index of the state.
+     */
+    @Override
+    public int add(final BitVector state, final int cost, final int parent, final int action) {
+        final long key = this.pack(state);
+        int slot = this.probe(key);
+        if (this.slots[slot] != 0) {
+            return this.slots[slot] - 1;
+        }
+        if (this.size == this.costs.length) {
+            this.grow();
+            slot = this.probe(key);
+        }
+        final int index = this.size++;
+        System.arraycopy(this.buffer, 0, this.arena, index * this.words, this.words);
+        this.costs[index] = cost;
+        this.parents[index] = parent;
+        this.actions[index] = action;
+        this.slots[slot] = index + 1;
+        return index;
+    }
+
+    /**
+     * Replaces the path to a state by a cheaper one. The state is reopened if it was closed.
+     *
+     * @param index  the index of the state.
+     * @param cost   the new cost to reach the state.
+     * @param parent the index of the new parent of the state.
+     * @param action the action applied to reach the state from its new parent.
+     */
+    @Override
+    public void update(final int index, final int cost, final int parent, final int action) {
+        this.costs[index] = cost;
+        this.parents[index] = parent;
+        this.actions[index] = action;
+        this.closed[index] = false;
+    }
+
+    /**
+     * Marks a state as expanded.
+     *
+     * @param index the index of the state.
+     */
+    @Override
+    public void close(final int index) {
+        this.closed[index] = true;
+    }
+
+    /**
+     * Returns whether a state is expanded.
+     *
+     * @param index the index of the state.
+     * @return <code>true</code> if the state is expanded, <code>false</code> otherwise.
+     */
+    @Override
+    public boolean isClosed(final int index) {
+        return this.closed[index];
+    }
+
+    /**
+     * Returns the best known cost of a state.
+     *
+     * @param index the index of the state.
+     * @return the best known cost of the state.
+     */
+    @Override
+    public int getCost(final int index) {
+        return this.costs[index];
+    }
+
+    /**
+     * Returns the index of the parent of a state.
+     *
+     * @param index the index of the state.
+     * @return the index of the parent of the state or <code>NONE</code> for the root.
+     */
+    @Override
+    public int getParent(final int index) {
+        return this.parents[index];
+    }
+
+    /**
+     * Returns the action applied to reach a state from its parent.
+     *
+     * @param index the index of the state.
+     * @return the action applied to reach the state.
+     */
+    @Override
+    public int getAction(final int index) {
+        return this.actions[index];
+    }
+
+    /**
+     * Returns the number of bytes used by the arrays of the list.
+     *
+     * @return the number of bytes used by the list.
+     */
+    @Override
+    public long getMemoryUsed() {
+        return (long) this.arena.length * Long.BYTES
+            + (long) this.costs.length * (3 * Integer.BYTES + 1)
+            + (long) this.slots.length * Integer.BYTES;
+    }
+
+    /**
+     * Returns a string representation of this list.
+     *
+     * @return a string representation of this list.
+     */
+    @Override
+    public String toString() {
+        return "states=" + this.size + ", memory=" + (this.getMemoryUsed() / 1024) + " KB";
+    }
+
+    /**
+     * Packs a state in the buffer and returns its fingerprint.
+     *
+     * @param state the state.
+     * @return the fingerprint of the state.
+     */
+    private long pack(final BitVector state) {
+        final long[] packed = state.toLongArray();
+        final int length = Math.min(packed.length, this.words);
+        System.arraycopy(packed, 0, this.buffer, 0, length);
+        Arrays.fill(this.buffer, length, this.words, 0L);
+        return this.hash(0, this.buffer);
+    }
+
+    /**
+     * Returns the fingerprint of a packed state.
+     *
+     * @param offset the offset of the packed state.
+     * @param words  the array holding the packed state.
+     * @return the fingerprint of the packed state.
+     */
+    private long hash(final int offset, final long[] words) {
+        long hash = 0L;
+        for (int w = 0; w < this.words; w++) {
+            hash = (hash ^ words[offset + w]) * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 29;
+        }
+        hash *= 0xD6E8FEB86659FD93L;
+        return hash ^ (hash >>> 32);
+    }
+
+    /**
+     * Returns the home slot of a fingerprint.
+     *
+     * @param key the fingerprint.
+     * @return the home slot of the fingerprint.
+     */
+    private int home(final long key) {
+        return (int) (key ^ (key >>> 32)) & this.mask;
+    }
+
+    /**
+     * Returns the slot of the state packed in the buffer, or the empty slot where it must be inserted.
+     *
+     * @param key the fingerprint of the state packed in the buffer.
+     * @return the slot of the state or an empty slot.
+     */
+    private int probe(final long key) {
+        int slot = this.home(key);
+        while (this.slots[slot] != 0) {
+            if (this.matches(this.slots[slot] - 1)) {
+                return slot;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns whether a state of the list is equal to the state packed in the buffer.
+     *
+     * @param index the index of the state.
+     * @return <code>true</code> if the states are equal, <code>false</code> otherwise.
+     */
+    private boolean matches(final int index) {
+        final int offset = index * this.words;
+        for (int w = 0; w < this.words; w++) {
+            if (this.arena[offset + w] != this.buffer[w]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Doubles the capacity of the list and rebuilds the table from the packed states.
+     */
+    private void grow() {
+        final int capacity = this.costs.length * 2;
+        if ((long) capacity * this.words > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Closed list full");
+        }
+        this.arena = Arrays.copyOf(this.arena, capacity * this.words);
+        this.costs = Arrays.copyOf(this.costs, capacity);
+        this.parents = Arrays.copyOf(this.parents, capacity);
+        this.actions = Arrays.copyOf(this.actions, capacity);
+        this.closed = Arrays.copyOf(this.closed, capacity);
+        this.slots = new int[capacity * 2];
+        this.mask = this.slots.length - 1;
+        for (int index = 0; index < this.size; index++) {
+            int slot = this.home(this.hash(index * this.words, this.arena));
+            while (this.slots[slot] != 0) {
+                slot = (slot + 1) & this.mask;
+            }
+            this.slots[slot] = index + 1;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package fr.uga.pddl4j.exercise.util;
+
+import fr.uga.pddl4j.util.BitVector;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class implements a bounded cache of heuristic values keyed by a 64 bits fingerprint of the states. The cache
+ * is set associative: a fingerprint is mapped to a set of a few slots, and when the set is full the victim is chosen
+ * with the CLOCK algorithm, i.e., the hand of the set skips, and unmarks, the slots read since its last visit. The
+ * cache never holds more entries than its capacity computed from the memory bound.
+ *
+ * <p>The cache is thread-safe and can be shared by concurrent searches on the same problem. The sets are guarded by
+ * a fixed number of lock stripes and the statistics are kept in <code>LongAdder</code> counters. Two distinct states
+ * sharing the same fingerprint get the same value, which is negligible with 64 bits fingerprints.</p>
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public final class HeuristicCache {
+
+    /**
+     * The value returned when a state is not in the cache.
+     */
+    public static final int UNKNOWN = -1;
+
+    /**
+     * The number of bytes used by an entry of the cache.
+     */
+    public static final int ENTRY_SIZE = Long.BYTES + Integer.BYTES + 1;
+
+    /**
+     * The number of slots of a set.
+     */
+    private static final int WAYS = 8;
+
+    /**
+     * The number of lock stripes.
+     */
+    private static final int STRIPES = 64;
+
+    /**
+     * The key reserved for the empty slots.
+     */
+    private static final long EMPTY = 0L;
+
+    /**
+     * The fingerprints stored in the slots.
+     */
+    private final long[] keys;
+
+    /**
+     * The heuristic values stored in the slots.
+     */
+    private final int[] values;
+
+    /**
+     * The reference bit of each slot, set when the slot is read.
+     */
+    private final boolean[] referenced;
+
+    /**
+     * The position of the hand of the CLOCK in each set.
+     */
+    private final byte[] hands;
+
+    /**
+     * The number of sets of the cache.
+     */
+    private final int sets;
+
+    /**
+     * The lock stripes guarding the sets.
+     */
+    private final Object[] locks;
+
+    /**
+     * The number of lookups that found the state.
+     */
+    private final LongAdder hits;
+
+    /**
+     * The number of lookups that did not find the state.
+     */
+    private final LongAdder misses;
+
+    /**
+     * The number of entries evicted.
+     */
+    private final LongAdder evictions;
+
+    /**
+     * Creates a new cache using at most a specified number of bytes.
+     *
+     * @param bytes the memory bound of the cache in bytes.
+     */
+    public HeuristicCache(final long bytes) {
+        final long entries = bytes / HeuristicCache.ENTRY_SIZE;
+        if (entries < HeuristicCache.WAYS) {
+            throw new IllegalArgumentException("Cache too small");
+        }
+        this.sets = (int) Math.min(entries / HeuristicCache.WAYS, Integer.MAX_VALUE / HeuristicCache.WAYS);
+        this.keys = new long[this.sets * HeuristicCache.WAYS];
+        this.values = new int[this.sets * HeuristicCache.WAYS];
+        this.referenced = new boolean[this.sets * HeuristicCache.WAYS];
+        this.hands = new byte[this.sets];
+        this.locks = new Object[HeuristicCache.STRIPES];
+        for (int i = 0; i < this.locks.length; i++) {
+            this.locks[i] = new Object();
+        }
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+    }
+
+    /**
+     * Returns the fingerprint of the true facts of a bit vector. The fingerprint is the exclusive or of a mix of the
+     * facts, so it does not depend on the number of facts of the problem.
+     *
+     * @param vector the bit vector, usually a state.
+     * @return the fingerprint of the bit vector.
+     */
+    public static long fingerprint(final BitVector vector) {
+        long fingerprint = 0L;
+        for (int f = vector.nextSetBit(0); f >= 0; f = vector.nextSetBit(f + 1)) {
+            long z = (f + 1) * 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            fingerprint ^= z ^ (z >>> 31);
+        }
+        return (fingerprint == HeuristicCache.EMPTY) ? 1L : fingerprint;
+    }
+
+    /**
+     * Returns the maximum number of entries of the cache.
+     *
+     * @return the maximum number of entries of the cache.
+     */
+    public int capacity() {
+        return this.keys.length;
+    }
+
+    /**
+     * Returns the heuristic value of a state.
+     *
+     * @param fingerprint the fingerprint of the state.
+     * @return the heuristic value or <code>UNKNOWN</code> if the state is not in the cache.
+     */
+    public int get(final long fingerprint) {
+        final int set = this.set(fingerprint);
+        final int first = set * HeuristicCache.WAYS;
+        synchronized (this.locks[set & (HeuristicCache.STRIPES - 1)]) {
+            for (int i = first; i < first + HeuristicCache.WAYS; i++) {
+                if (this.keys[i] == fingerprint) {
+                    this.referenced[i] = true;
+                    this.hits.increment();
+                    return this.values[i];
+                }
+            }
+        }
+        this.misses.increment();
+        return HeuristicCache.UNKNOWN;
+    }
+
+    /**
+     * Stores the heuristic value of a state. If the set of the state is full, an entry is evicted.
+     *
+     * @param fingerprint the fingerprint of the state.
+     * @param value       the heuristic value of the state.
+     */
+    public void put(final long fingerprint, final int value) {
+        final int set = this.set(fingerprint);
+        final int first = set * HeuristicCache.WAYS;
+        synchronized (this.locks[set & (HeuristicCache.STRIPES - 1)]) {
+            for (int i = first; i < first + HeuristicCache.WAYS; i++) {
+                if (this.keys[i] == fingerprint || this.keys[i] == HeuristicCache.EMPTY) {
+                    this.keys[i] = fingerprint;
+                    this.values[i] = value;
+                    return;
+                }
+            }
+            // We move the hand of the CLOCK until it reaches a slot not read since its last visit.
+            int hand = this.hands[set];
+            while (this.referenced[first + hand]) {
+                this.referenced[first + hand] = false;
+                hand = (hand + 1) % HeuristicCache.WAYS;
+            }
+            this.keys[first + hand] = fingerprint;
+            this.values[first + hand] = value;
+            this.hands[set] = (byte) ((hand + 1) % HeuristicCache.WAYS);
+            this.evictions.increment();
+        }
+    }
+
+    /**
+     * Returns the number of lookups that found the state.
+     *
+     * @return the number of hits.
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that did not find the state.
+     *
+     * @return the number of misses.
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Returns the number of entries evicted.
+     *
+     * @return the number of evictions.
+     */
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * Returns a summary of the statistics of the cache.
+     *
+     * @return a summary of the statistics of the cache.
+     */
+    @Override
+    public String toString() {
+        final long hits = this.getHits();
+        final long lookups = hits + this.getMisses();
+        return "hits=" + hits + ", misses=" + this.getMisses() + ", evictions=" + this.getEvictions()
+            + ", hit rate=" + ((lookups == 0) ? 0 : (100 * hits / lookups)) + "%";
+    }
+
+    /**
+     * Returns the set of a fingerprint.
+     *
+     * @param fingerprint the fingerprint.
+     * @return the set of the fingerprint.
+     */
+    private int set(final long fingerprint) {
+        return (int) (((fingerprint >>> 32) ^ fingerprint) & 0x7FFFFFFFL) % this.sets;
+    }
+}
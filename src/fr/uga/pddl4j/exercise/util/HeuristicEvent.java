@@ -0,0 +1,30 @@
+package fr.uga.pddl4j.exercise.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * This class implements the Java Flight Recorder event of a heuristic evaluation sampled by a
+ * {@link MeteredHeuristic}. The duration of the event is the latency of the evaluation, a lookup in a cache of the
+ * heuristic values included.
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+@Name("fr.uga.pddl4j.exercise.Heuristic")
+@Label("Heuristic Evaluation")
+@Category({"PDDL4J", "Heuristic"})
+@Description("Heuristic evaluation sampled by the planners")
+@StackTrace(false)
+public final class HeuristicEvent extends Event {
+
+    /**
+     * The heuristic value computed, <code>Integer.MAX_VALUE</code> for a dead end.
+     */
+    @Label("Value")
+    int value;
+}
@@ -0,0 +1,451 @@
+package fr.uga.pddl4j.exercise.util;
+
+import fr.uga.pddl4j.util.BitVector;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class implements the closed list of a best-first search in memory-mapped files, for the searches whose closed
+ * list does not fit in the heap. Each state is stored in a fixed-size record holding its packed words, its best known
+ * cost, the index of its parent, the action applied to reach it and whether it is expanded. The records are stored
+ * in segment files of a directory on a local disk, mapped in memory one segment at a time as the list grows, so the
+ * operating system pages them in and out of the memory as needed.
+ *
+ * <p>The heap only holds an open-addressing table with linear probing, giving for each slot the index of a state and
+ * a 32-bit fingerprint of its words, i.e., 16 bytes by state since the table is never more than half full. A record
+ * is only read during a probe when its fingerprint matches the one of the state looked for, so looking for a new
+ * state almost never touches the disk and looking for a known state reads a single record. The table is doubled and
+ * rebuilt from the fingerprints, without reading the records.</p>
+ *
+ * <p>The segment files are deleted as soon as they are mapped, so they are removed by the operating system when the
+ * list is released or when the JVM exits, even abnormally. On the systems that cannot delete a mapped file, they are
+ * deleted when the JVM exits.</p>
+ *
+ * <p>A closed list is not thread-safe.</p>
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public final class MappedClosedList implements ClosedList {
+
+    /**
+     * The maximum number of bytes of a segment file.
+     */
+    private static final long SEGMENT_SIZE = 64L * 1024L * 1024L;
+
+    /**
+     * The initial number of slots of the table.
+     */
+    private static final int INITIAL_SLOTS = 1 << 13;
+
+    /**
+     * The offset of the cost in a record, after the packed words.
+     */
+    private static final int COST = 0;
+
+    /**
+     * The offset of the index of the parent in a record, after the packed words.
+     */
+    private static final int PARENT = 4;
+
+    /**
+     * The offset of the action in a record, after the packed words.
+     */
+    private static final int ACTION = 8;
+
+    /**
+     * The offset of the closed flag in a record, after the packed words.
+     */
+    private static final int CLOSED = 12;
+
+    /**
+     * The number of bytes of a record after the packed words.
+     */
+    private static final int TRAILER = 13;
+
+    /**
+     * The directory of the segment files.
+     */
+    private final Path directory;
+
+    /**
+     * The number of words used by a packed state.
+     */
+    private final int words;
+
+    /**
+     * The number of bytes of a record.
+     */
+    private final int recordSize;
+
+    /**
+     * The base 2 logarithm of the number of records of a segment.
+     */
+    private final int shift;
+
+    /**
+     * The mapped segments of the records.
+     */
+    private final List<MappedByteBuffer> segments;
+
+    /**
+     * The index of the state of each slot of the table plus one, 0 marking the empty slots.
+     */
+    private int[] slots;
+
+    /**
+     * The fingerprint of the state of each slot of the table.
+     */
+    private int[] fingerprints;
+
+    /**
+     * The mask used to compute the home slot of a fingerprint.
+     */
+    private int mask;
+
+    /**
+     * The number of states of the list.
+     */
+    private int size;
+
+    /**
+     * The buffer receiving the packed words of the state looked for.
+     */
+    private final long[] buffer;
+
+    /**
+     * Creates a new empty closed list stored in a directory.
+     *
+     * @param numberOfFacts the number of facts of the problem.
+     * @param directory     the directory of the segment files.
+     * @throws UncheckedIOException if the directory is not a writable directory.
+     */
+    public MappedClosedList(final int numberOfFacts, final Path directory) {
+        if (!Files.isDirectory(directory) || !Files.isWritable(directory)) {
+            throw new UncheckedIOException(new IOException("Not a writable directory: " + directory));
+        }
+        this.directory = directory;
+        this.words = Math.max(1, (numberOfFacts + Long.SIZE - 1) / Long.SIZE);
+        this.recordSize = this.words * Long.BYTES + MappedClosedList.TRAILER;
+        this.shift = Math.max(0, 63 - Long.numberOfLeadingZeros(MappedClosedList.SEGMENT_SIZE / this.recordSize));
+        this.segments = new ArrayList<MappedByteBuffer>();
+        this.buffer = new long[this.words];
+        this.slots = new int[MappedClosedList.INITIAL_SLOTS];
+        this.fingerprints = new int[MappedClosedList.INITIAL_SLOTS];
+        this.mask = this.slots.length - 1;
+    }
+
+    /**
+     * Returns the number of states of the list.
+     *
+     * @return the number of states of the list.
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the index of a state.
+     *
+     * @param state the state.
+     * @return the index of the state or <code>NONE</code> if the state is not in the list.
+     */
+    @Override
+    public int find(final BitVector state) {
+        final int fingerprint = this.pack(state);
+        return this.slots[this.probe(fingerprint)] - 1;
+    }
+
+    /**
+     * Adds a state to the list, not closed. If the state is already in the list, the list is not changed.
+     *
+     * @param state  the state.
+     * @param cost   the cost to reach the state.
+     * @param parent the index of the parent of the state or <code>NONE</code> for the root.
+     * @param action the action applied to reach the state from its parent.
+     * @return the index of the state.
+     * @throws UncheckedIOException if a new segment file cannot be mapped.
+     */
+    @Override
+    public int add(final BitVector state, final int cost, final int parent, final int action) {
+        final int fingerprint = this.pack(state);
+        int slot = this.probe(fingerprint);
+        if (this.slots[slot] != 0) {
+            return this.slots[slot] - 1;
+        }
+        if (this.size * 2 >= this.slots.length) {
+            this.grow();
+            slot = this.probe(fingerprint);
+        }
+        if (this.size == (this.segments.size() << this.shift)) {
+            this.map();
+        }
+        final int index = this.size++;
+        final MappedByteBuffer segment = this.segment(index);
+        final int offset = this.offset(index);
+        for (int w = 0; w < this.words; w++) {
+            segment.putLong(offset + w * Long.BYTES, this.buffer[w]);
+        }
+        final int trailer = offset + this.words * Long.BYTES;
+        segment.putInt(trailer + MappedClosedList.COST, cost);
+        segment.putInt(trailer + MappedClosedList.PARENT, parent);
+        segment.putInt(trailer + MappedClosedList.ACTION, action);
+        segment.put(trailer + MappedClosedList.CLOSED, (byte) 0);
+        this.slots[slot] = index + 1;
+        this.fingerprints[slot] = fingerprint;
+        return index;
+    }
+
+    /**
+     * Replaces the path to a state by a cheaper one. The state is reopened if it was closed.
+     *
+     * @param index  the index of the state.
+     * @param cost   the new cost to reach the state.
+     * @param parent the index of the new parent of the state.
+     * @param action the action applied to reach the state from its new parent.
+     */
+    @Override
+    public void update(final int index, final int cost, final int parent, final int action) {
+        final MappedByteBuffer segment = this.segment(index);
+        final int trailer = this.trailer(index);
+        segment.putInt(trailer + MappedClosedList.COST, cost);
+        segment.putInt(trailer + MappedClosedList.PARENT, parent);
+        segment.putInt(trailer + MappedClosedList.ACTION, action);
+        segment.put(trailer + MappedClosedList.CLOSED, (byte) 0);
+    }
+
+    /**
+     * Marks a state as expanded.
+     *
+     * @param index the index of the state.
+     */
+    @Override
+    public void close(final int index) {
+        this.segment(index).put(this.trailer(index) + MappedClosedList.CLOSED, (byte) 1);
+    }
+
+    /**
+     * Returns whether a state is expanded.
+     *
+     * @param index the index of the state.
+     * @return <code>true</code> if the state is expanded, <code>false</code> otherwise.
+     */
+    @Override
+    public boolean isClosed(final int index) {
+        return this.segment(index).get(this.trailer(index) + MappedClosedList.CLOSED) != 0;
+    }
+
+    /**
+     * Returns the best known cost of a state.
+     *
+     * @param index the index of the state.
+     * @return the best known cost of the state.
+     */
+    @Override
+    public int getCost(final int index) {
+        return this.segment(index).getInt(this.trailer(index) + MappedClosedList.COST);
+    }
+
+    /**
+     * Returns the index of the parent of a state.
+     *
+     * @param index the index of the state.
+     * @return the index of the parent of the state or <code>NONE</code> for the root.
+     */
+    @Override
+    public int getParent(final int index) {
+        return this.segment(index).getInt(this.trailer(index) + MappedClosedList.PARENT);
+    }
+
+    /**
+     * Returns the action applied to reach a state from its parent.
+     *
+     * @param index the index of the state.
+     * @return the action applied to reach the state.
+     */
+    @Override
+    public int getAction(final int index) {
+        return this.segment(index).getInt(this.trailer(index) + MappedClosedList.ACTION);
+    }
+
+    /**
+     * Returns the number of bytes of the heap used by the table of the list.
+     *
+     * @return the number of bytes of the heap used by the list.
+     */
+    @Override
+    public long getMemoryUsed() {
+        return (long) this.slots.length * 2 * Integer.BYTES + (long) this.words * Long.BYTES;
+    }
+
+    /**
+     * Returns the number of bytes of the segment files of the list.
+     *
+     * @return the number of bytes of the segment files.
+     */
+    public long getDiskUsed() {
+        return ((long) this.segments.size() << this.shift) * this.recordSize;
+    }
+
+    /**
+     * Releases the segments of the list. The segments are unmapped when they are garbage collected.
+     */
+    @Override
+    public void release() {
+        this.segments.clear();
+    }
+
+    /**
+     * Returns a string representation of this list.
+     *
+     * @return a string representation of this list.
+     */
+    @Override
+    public String toString() {
+        return "states=" + this.size + ", memory=" + (this.getMemoryUsed() / 1024) + " KB, disk="
+            + (this.getDiskUsed() / (1024 * 1024)) + " MB";
+    }
+
+    /**
+     * Returns the segment of the record of a state.
+     *
+     * @param index the index of the state.
+     * @return the segment of the record.
+     */
+    private MappedByteBuffer segment(final int index) {
+        return this.segments.get(index >>> this.shift);
+    }
+
+    /**
+     * Returns the offset of the record of a state in its segment.
+     *
+     * @param index the index of the state.
+     * @return the offset of the record.
+     */
+    private int offset(final int index) {
+        return (index & ((1 << this.shift) - 1)) * this.recordSize;
+    }
+
+    /**
+     * Returns the offset of the fields following the packed words in the record of a state.
+     *
+     * @param index the index of the state.
+     * @return the offset of the fields following the packed words.
+     */
+    private int trailer(final int index) {
+        return this.offset(index) + this.words * Long.BYTES;
+    }
+
+    /**
+     * Packs a state in the buffer and returns its fingerprint.
+     *
+     * @param state the state.
+     * @return the fingerprint of the state.
+     */
+    private int pack(final BitVector state) {
+        final long[] packed = state.toLongArray();
+        final int length = Math.min(packed.length, this.words);
+        System.arraycopy(packed, 0, this.buffer, 0, length);
+        Arrays.fill(this.buffer, length, this.words, 0L);
+        long hash = 0L;
+        for (int w = 0; w < this.words; w++) {
+            hash = (hash ^ this.buffer[w]) * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 29;
+        }
+        hash *= 0xD6E8FEB86659FD93L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Returns the slot of the state packed in the buffer, or the empty slot where it must be inserted. A record is
+     * only read when its fingerprint matches.
+     *
+     * @param fingerprint the fingerprint of the state packed in the buffer.
+     * @return the slot of the state or an empty slot.
+     */
+    private int probe(final int fingerprint) {
+        int slot = fingerprint & this.mask;
+        while (this.slots[slot] != 0) {
+            if (this.fingerprints[slot] == fingerprint && this.matches(this.slots[slot] - 1)) {
+                return slot;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns whether a state of the list is equal to the state packed in the buffer.
+     *
+     * @param index the index of the state.
+     * @return <code>true</code> if the states are equal, <code>false</code> otherwise.
+     */
+    private boolean matches(final int index) {
+        final MappedByteBuffer segment = this.segment(index);
+        final int offset = this.offset(index);
+        for (int w = 0; w < this.words; w++) {
+            if (segment.getLong(offset + w * Long.BYTES) != this.buffer[w]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Doubles the table and rebuilds it from the fingerprints of the states.
+     */
+    private void grow() {
+        if (this.slots.length >= 1 << 30) {
+            throw new IllegalStateException("Closed list full");
+        }
+        final int[] oldSlots = this.slots;
+        final int[] oldFingerprints = this.fingerprints;
+        this.slots = new int[oldSlots.length * 2];
+        this.fingerprints = new int[oldSlots.length * 2];
+        this.mask = this.slots.length - 1;
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (oldSlots[i] != 0) {
+                int slot = oldFingerprints[i] & this.mask;
+                while (this.slots[slot] != 0) {
+                    slot = (slot + 1) & this.mask;
+                }
+                this.slots[slot] = oldSlots[i];
+                this.fingerprints[slot] = oldFingerprints[i];
+            }
+        }
+    }
+
+    /**
+     * Maps a new segment file for the next records. The file is deleted as soon as it is mapped.
+     *
+     * @throws UncheckedIOException if the segment file cannot be created or mapped.
+     */
+    private void map() {
+        try {
+            final Path file = Files.createTempFile(this.directory, "closed-", ".seg");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                this.segments.add(channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    ((long) this.recordSize) << this.shift));
+            } finally {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    // We delete the file at exit on the systems that cannot delete a mapped file
+                    file.toFile().deleteOnExit();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package fr.uga.pddl4j.exercise.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * This class implements a monitor of the heap pressure polled cooperatively by the inner loops of a search. The
+ * monitor sets a collection usage threshold on each tenured heap memory pool, i.e., a threshold on the memory still
+ * used after a garbage collection, so the garbage waiting to be collected does not raise false alarms. The young
+ * pools are emptied at each collection, so only the pools supporting both a usage threshold and a collection usage
+ * threshold are monitored, as the old generation of the HotSpot collectors. The JVM notifies the monitor when a
+ * threshold is exceeded, and the search reads the state of the monitor at each step through a volatile flag.
+ *
+ * <p>The thresholds of the memory pools are shared by the whole JVM, so a single monitor should be open at a time.
+ * The thresholds are cleared and the listener is removed when the monitor is closed. When no tenured heap memory
+ * pool is found, as with some garbage collectors, the monitor is inactive and never reports a pressure.</p>
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public final class MemoryMonitor implements AutoCloseable {
+
+    /**
+     * The heap memory pools monitored.
+     */
+    private final List<MemoryPoolMXBean> pools;
+
+    /**
+     * The listener of the notifications of the thresholds exceeded.
+     */
+    private final NotificationListener listener;
+
+    /**
+     * The description of the first threshold exceeded or null if no threshold was exceeded.
+     */
+    private volatile String pressure;
+
+    /**
+     * Creates and starts a new monitor of the heap pressure.
+     *
+     * @param threshold the fraction of the maximum size of each heap memory pool above which the pool is under
+     *                  pressure, in ]0, 1[.
+     * @throws IllegalArgumentException if the threshold is not in ]0, 1[.
+     */
+    public MemoryMonitor(final double threshold) {
+        if (threshold <= 0.0 || threshold >= 1.0) {
+            throw new IllegalArgumentException("Threshold not in ]0, 1[");
+        }
+        this.pools = new ArrayList<MemoryPoolMXBean>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isUsageThresholdSupported()
+                && pool.isCollectionUsageThresholdSupported()) {
+                // We take the maximum of the heap for the pools with no maximum of their own
+                final long max = (pool.getUsage().getMax() > 0) ? pool.getUsage().getMax()
+                    : Runtime.getRuntime().maxMemory();
+                pool.setCollectionUsageThreshold(Math.max(1L, (long) (max * threshold)));
+                this.pools.add(pool);
+            }
+        }
+        this.listener = this::handle;
+        ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).addNotificationListener(this.listener, null,
+            null);
+        // We check the pools once, in case a threshold was already exceeded at the last collection
+        for (MemoryPoolMXBean pool : this.pools) {
+            if (pool.isCollectionUsageThresholdExceeded()) {
+                this.pressure = MemoryMonitor.describe(pool.getName(), pool.getCollectionUsage().getUsed(),
+                    pool.getCollectionUsageThreshold());
+                break;
+            }
+        }
+    }
+
+    /**
+     * Returns whether a heap memory pool is monitored.
+     *
+     * @return <code>true</code> if a heap memory pool is monitored, <code>false</code> otherwise.
+     */
+    public boolean isActive() {
+        return !this.pools.isEmpty();
+    }
+
+    /**
+     * Returns whether the heap is under pressure, i.e., whether the memory used after a collection exceeded its
+     * threshold since the monitor was started.
+     *
+     * @return <code>true</code> if the heap is under pressure, <code>false</code> otherwise.
+     */
+    public boolean isUnderPressure() {
+        return this.pressure != null;
+    }
+
+    /**
+     * Stops the monitor and clears the thresholds of the memory pools.
+     */
+    @Override
+    public void close() {
+        try {
+            ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).removeNotificationListener(this.listener);
+        } catch (ListenerNotFoundException e) {
+            // We have nothing to remove
+        }
+        for (MemoryPoolMXBean pool : this.pools) {
+            pool.setCollectionUsageThreshold(0L);
+        }
+    }
+
+    /**
+     * Returns a string representation of this monitor.
+     *
+     * @return a string representation of this monitor.
+     */
+    @Override
+    public String toString() {
+        if (!this.isActive()) {
+            return "inactive";
+        }
+        final String pressure = this.pressure;
+        return (pressure == null) ? "no pressure" : pressure;
+    }
+
+    /**
+     * Handles a notification of the memory MXBean.
+     *
+     * @param notification the notification.
+     * @param handback      the handback object, unused.
+     */
+    private void handle(final Notification notification, final Object handback) {
+        if (this.pressure == null
+            && MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType())) {
+            final MemoryNotificationInfo info = MemoryNotificationInfo.from(
+                (CompositeData) notification.getUserData());
+            long threshold = 0L;
+            for (MemoryPoolMXBean pool : this.pools) {
+                if (pool.getName().equals(info.getPoolName())) {
+                    threshold = pool.getCollectionUsageThreshold();
+                }
+            }
+            this.pressure = MemoryMonitor.describe(info.getPoolName(), info.getUsage().getUsed(), threshold);
+        }
+    }
+
+    /**
+     * Returns the description of a threshold exceeded.
+     *
+     * @param pool      the name of the memory pool.
+     * @param used      the memory used after the collection in bytes.
+     * @param threshold the threshold of the pool in bytes.
+     * @return the description of the threshold exceeded.
+     */
+    private static String describe(final String pool, final long used, final long threshold) {
+        return pool + " used " + (used / (1024 * 1024)) + " MB after a collection, threshold "
+            + (threshold / (1024 * 1024)) + " MB";
+    }
+}
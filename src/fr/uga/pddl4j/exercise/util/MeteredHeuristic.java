@@ -0,0 +1,105 @@
+package fr.uga.pddl4j.exercise.util;
+
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.planners.statespace.search.Node;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Condition;
+
+/**
+ * This class implements a decorator of a heuristic that counts its evaluations, the dead ends it detects and the
+ * lowest value it computes in the {@link SearchMetrics} of a search. The metrics can be shared by several decorators,
+ * but a decorator is only as thread-safe as the heuristic it decorates.
+ *
+ * <p>One evaluation in <code>SAMPLING_MASK + 1</code> is also recorded as a {@link HeuristicEvent} of the Java
+ * Flight Recorder, whose duration is the latency of the evaluation. When the event is disabled, a sampled evaluation
+ * only costs the check of the event.</p>
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public final class MeteredHeuristic implements StateHeuristic {
+
+    /**
+     * The serial id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The mask of the evaluations recorded as events, i.e., one evaluation in 64.
+     */
+    public static final int SAMPLING_MASK = 63;
+
+    /**
+     * The heuristic decorated.
+     */
+    private final StateHeuristic heuristic;
+
+    /**
+     * The metrics of the search.
+     */
+    private final transient SearchMetrics metrics;
+
+    /**
+     * The number of evaluations of this decorator.
+     */
+    private int evaluations;
+
+    /**
+     * Creates a new metered heuristic.
+     *
+     * @param heuristic the heuristic decorated.
+     * @param metrics   the metrics of the search.
+     */
+    public MeteredHeuristic(final StateHeuristic heuristic, final SearchMetrics metrics) {
+        this.heuristic = heuristic;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the estimated distance to the goal from a state, counted in the metrics and sampled as an event.
+     *
+     * @param state the state.
+     * @param goal  the goal.
+     * @return the estimated distance to the goal.
+     */
+    @Override
+    public int estimate(final State state, final Condition goal) {
+        final int value;
+        if ((++this.evaluations & MeteredHeuristic.SAMPLING_MASK) == 0) {
+            final HeuristicEvent event = new HeuristicEvent();
+            event.begin();
+            value = this.heuristic.estimate(state, goal);
+            event.end();
+            if (event.shouldCommit()) {
+                event.value = value;
+                event.commit();
+            }
+        } else {
+            value = this.heuristic.estimate(state, goal);
+        }
+        this.metrics.evaluated(value);
+        return value;
+    }
+
+    /**
+     * Returns the estimated distance to the goal from a node, counted in the metrics.
+     *
+     * @param node the node.
+     * @param goal the goal.
+     * @return the estimated distance to the goal.
+     */
+    @Override
+    public double estimate(final Node node, final Condition goal) {
+        return this.estimate((State) node, goal);
+    }
+
+    /**
+     * Returns if the heuristic decorated is admissible.
+     *
+     * @return <code>true</code> if the heuristic decorated is admissible.
+     */
+    @Override
+    public boolean isAdmissible() {
+        return this.heuristic.isAdmissible();
+    }
+}
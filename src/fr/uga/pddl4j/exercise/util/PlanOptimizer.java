@@ -0,0 +1,267 @@
+package fr.uga.pddl4j.exercise.util;
+
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.plan.SequentialPlan;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.util.BitVector;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class implements a post-processing of the sequential plans in two passes:
+ *
+ * <ul>
+ * <li>the cycles are cut: the plan is replayed from the initial state, the intermediate states are hashed, and the
+ * actions between two occurrences of the same state are removed, jumping each time to the last occurrence of the
+ * state. This pass is linear in the length of the plan;</li>
+ * <li>the redundant actions are eliminated in two steps. First, in a single backward pass, an action is kept only
+ * if it adds a fact needed later, by the precondition of an action kept or by the goal, and the facts needed before
+ * it are then the facts it does not add plus its own precondition. The shorter plan is replayed once from the initial
+ * state, and the plan is left as it is if the replay does not reach the goal, which happens with negative
+ * preconditions, negative goals or conditional effects that did not fire. Then, the remaining actions are eliminated
+ * greedily: for each action, the end of the plan is replayed in place on a single state without it and without the
+ * following actions that are no longer applicable, and this shorter plan is kept if it still reaches the goal. This
+ * catches the actions undone later, like a block picked up and put down again, that the backward pass keeps. The
+ * replays are bounded by <code>REPLAYS_PER_ACTION</code> steps per action of the plan, so the greedy step is complete
+ * for the plans of a hundred actions and stops early on longer plans.</li>
+ * </ul>
+ *
+ * <p>Both passes are linear in the length of the plan.</p>
+ *
+ * <p>The conditions of the conditional effects are evaluated in the state before the application of an action, as
+ * the planners do.</p>
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public final class PlanOptimizer {
+
+    /**
+     * The number of steps replayed by the greedy elimination of the redundant actions per action of the plan.
+     */
+    public static final int REPLAYS_PER_ACTION = 64;
+
+    /**
+     * The problem of the plans.
+     */
+    private final Problem problem;
+
+    /**
+     * Creates a new plan optimizer for a problem.
+     *
+     * @param problem the problem of the plans.
+     */
+    public PlanOptimizer(final Problem problem) {
+        this.problem = problem;
+    }
+
+    /**
+     * Returns a plan shortened by cutting its cycles and eliminating its redundant actions. The plan given is not
+     * modified.
+     *
+     * @param plan the plan to optimize, solution of the problem.
+     * @return the optimized plan or null if the plan given is null.
+     */
+    public Plan optimize(final Plan plan) {
+        if (plan == null) {
+            return null;
+        }
+        final List<Action> actions = this.eliminateActions(this.cutCycles(plan.actions()));
+        final Plan optimized = new SequentialPlan();
+        for (int i = 0; i < actions.size(); i++) {
+            optimized.add(i, actions.get(i));
+        }
+        return optimized;
+    }
+
+    /**
+     * Returns the actions of a plan without the segments leading back to a state already reached.
+     *
+     * @param actions the actions of the plan.
+     * @return the actions of the plan without cycles.
+     */
+    public List<Action> cutCycles(final List<Action> actions) {
+        // We replay the plan and record the last step at which each state is reached.
+        final List<State> states = new ArrayList<State>(actions.size() + 1);
+        final Map<State, Integer> last = new HashMap<State, Integer>();
+        State state = new State(this.problem.getInitialState());
+        states.add(state);
+        last.put(state, 0);
+        for (int i = 0; i < actions.size(); i++) {
+            state = PlanOptimizer.apply(actions.get(i), state);
+            states.add(state);
+            last.put(state, i + 1);
+        }
+
+        // We keep the action applied at the last occurrence of each state reached.
+        final List<Action> result = new ArrayList<Action>(actions.size());
+        int i = last.get(states.get(0));
+        while (i < actions.size()) {
+            result.add(actions.get(i));
+            i = last.get(states.get(i + 1));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the actions of a plan without the actions that are not needed to reach the goal.
+     *
+     * @param actions the actions of the plan.
+     * @return the actions of the plan without redundant actions.
+     */
+    public List<Action> eliminateActions(final List<Action> actions) {
+        return this.eliminateUndone(this.eliminateUnneeded(actions));
+    }
+
+    /**
+     * Returns the actions of a plan without the actions that add no fact needed later to reach the goal.
+     *
+     * @param actions the actions of the plan.
+     * @return the actions of the plan without these actions, or the actions given if the plan without these actions
+     *     does not reach the goal.
+     */
+    private List<Action> eliminateUnneeded(final List<Action> actions) {
+        // We walk the plan backward, keeping the actions that add a fact needed by the actions kept after them or by
+        // the goal.
+        final BitVector needed = new BitVector(this.problem.getGoal().getPositiveFluents());
+        final boolean[] kept = new boolean[actions.size()];
+        int size = 0;
+        for (int i = actions.size() - 1; i >= 0; i--) {
+            final Action action = actions.get(i);
+            final BitVector added = new BitVector();
+            for (ConditionalEffect ce : action.getConditionalEffects()) {
+                added.or(ce.getEffect().getPositiveFluents());
+            }
+            if (added.intersects(needed)) {
+                kept[i] = true;
+                size++;
+                needed.andNot(added);
+                needed.or(action.getPrecondition().getPositiveFluents());
+                for (ConditionalEffect ce : action.getConditionalEffects()) {
+                    needed.or(ce.getCondition().getPositiveFluents());
+                }
+            }
+        }
+        final List<Action> plan = new ArrayList<Action>(size);
+        for (int i = 0; i < actions.size(); i++) {
+            if (kept[i]) {
+                plan.add(actions.get(i));
+            }
+        }
+
+        // We replay the shorter plan in place on a single state to check that it still reaches the goal.
+        final State state = new State(this.problem.getInitialState());
+        final boolean[] fired = PlanOptimizer.newFiredBuffer(plan);
+        for (Action action : plan) {
+            if (!action.isApplicable(state)) {
+                return actions;
+            }
+            PlanOptimizer.applyInPlace(action, state, fired);
+        }
+        return state.satisfy(this.problem.getGoal()) ? plan : actions;
+    }
+
+    /**
+     * Returns the actions of a plan without the actions whose removal, along with the following actions no longer
+     * applicable, still reaches the goal. The actions are tried in order until the replays have run
+     * <code>REPLAYS_PER_ACTION</code> steps per action of the plan.
+     *
+     * @param actions the actions of the plan.
+     * @return the actions of the plan without redundant actions.
+     */
+    private List<Action> eliminateUndone(final List<Action> actions) {
+        final Condition goal = this.problem.getGoal();
+        final List<Action> plan = new ArrayList<Action>(actions);
+        final State state = new State(this.problem.getInitialState());
+        final State replay = new State();
+        final boolean[] fired = PlanOptimizer.newFiredBuffer(plan);
+        final int[] skipped = new int[plan.size()];
+        long budget = (long) PlanOptimizer.REPLAYS_PER_ACTION * plan.size();
+        int i = 0;
+        while (i < plan.size() && budget > 0) {
+            // We replay the end of the plan without the action and without the actions no longer applicable.
+            replay.clear();
+            replay.or(state);
+            int numberOfSkipped = 0;
+            for (int j = i + 1; j < plan.size(); j++) {
+                final Action a = plan.get(j);
+                if (a.isApplicable(replay)) {
+                    PlanOptimizer.applyInPlace(a, replay, fired);
+                } else {
+                    skipped[numberOfSkipped++] = j;
+                }
+            }
+            budget -= plan.size() - i;
+            if (replay.satisfy(goal)) {
+                // The action is redundant, the shorter plan is kept and the same position is tried again.
+                for (int k = numberOfSkipped - 1; k >= 0; k--) {
+                    plan.remove(skipped[k]);
+                }
+                plan.remove(i);
+            } else {
+                PlanOptimizer.applyInPlace(plan.get(i), state, fired);
+                i++;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Returns a buffer receiving whether each conditional effect of an action of a plan fires.
+     *
+     * @param actions the actions of the plan.
+     * @return a buffer as large as the largest number of conditional effects of the actions.
+     */
+    private static boolean[] newFiredBuffer(final List<Action> actions) {
+        int effects = 0;
+        for (Action action : actions) {
+            effects = Math.max(effects, action.getConditionalEffects().size());
+        }
+        return new boolean[effects];
+    }
+
+    /**
+     * Returns the state reached by applying an action to a state.
+     *
+     * @param action the action.
+     * @param state  the state, which is not modified.
+     * @return the state reached.
+     */
+    private static State apply(final Action action, final State state) {
+        final State next = new State(state);
+        for (ConditionalEffect ce : action.getConditionalEffects()) {
+            if (state.satisfy(ce.getCondition())) {
+                next.apply(ce.getEffect());
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Applies an action to a state in place. The conditions of the conditional effects are all evaluated before the
+     * first effect is applied.
+     *
+     * @param action the action.
+     * @param state  the state, modified.
+     * @param fired  a buffer receiving whether each conditional effect fires, as large as the number of conditional
+     *               effects of the action.
+     */
+    private static void applyInPlace(final Action action, final State state, final boolean[] fired) {
+        final List<ConditionalEffect> effects = action.getConditionalEffects();
+        for (int i = 0; i < effects.size(); i++) {
+            fired[i] = state.satisfy(effects.get(i).getCondition());
+        }
+        for (int i = 0; i < effects.size(); i++) {
+            if (fired[i]) {
+                state.apply(effects.get(i).getEffect());
+            }
+        }
+    }
+}
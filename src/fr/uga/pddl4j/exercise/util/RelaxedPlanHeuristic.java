@@ -0,0 +1,463 @@
+package fr.uga.pddl4j.exercise.util;
+
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.planners.statespace.search.Node;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.util.BitVector;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class implements the FF heuristic, i.e., the number of actions of a relaxed plan extracted from the relaxed
+ * planning graph of a state, together with the helpful actions of the state. The FF heuristic of PDDL4J does not give
+ * access to its relaxed plan, so the helpful actions cannot be obtained from it.
+ *
+ * <p>Each conditional effect of an action is relaxed into an operator whose preconditions are the positive
+ * preconditions of the action and the positive facts of the condition of the effect, and whose effects are the
+ * positive facts of the effect. The graph is expanded level by level and each fact keeps the first operator reaching
+ * it. The relaxed plan is extracted backward from the goal by supporting each subgoal with this operator. The helpful
+ * actions are, as in FF, the actions relaxed applicable in the state that add a subgoal of the first level of the
+ * relaxed plan. The negative preconditions are relaxed, so a helpful action may not be applicable.</p>
+ *
+ * <p>The operators are built once per problem and shared by the copies of an instance. An instance is not
+ * thread-safe, so each thread should use its own copy.</p>
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public final class RelaxedPlanHeuristic implements StateHeuristic {
+
+    /**
+     * The serial id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The level of the facts and operators not reached.
+     */
+    private static final int UNREACHED = Integer.MAX_VALUE;
+
+    /**
+     * The number of facts of the problem.
+     */
+    private final int numberOfFacts;
+
+    /**
+     * The number of actions of the problem.
+     */
+    private final int numberOfActions;
+
+    /**
+     * The action of each operator.
+     */
+    private final int[] operatorActions;
+
+    /**
+     * The index in <code>preconditions</code> of the first precondition of each operator, followed by the number of
+     * preconditions.
+     */
+    private final int[] preconditionStarts;
+
+    /**
+     * The preconditions of the operators, grouped by operator.
+     */
+    private final int[] preconditions;
+
+    /**
+     * The index in <code>effects</code> of the first effect of each operator, followed by the number of effects.
+     */
+    private final int[] effectStarts;
+
+    /**
+     * The effects of the operators, grouped by operator.
+     */
+    private final int[] effects;
+
+    /**
+     * The index in <code>consumers</code> of the first operator having each fact as precondition.
+     */
+    private final int[] consumerStarts;
+
+    /**
+     * The operators having a fact as precondition, grouped by fact.
+     */
+    private final int[] consumers;
+
+    /**
+     * The index in <code>producers</code> of the first operator having each fact as effect.
+     */
+    private final int[] producerStarts;
+
+    /**
+     * The operators having a fact as effect, grouped by fact.
+     */
+    private final int[] producers;
+
+    /**
+     * The level of each fact in the relaxed planning graph of the last state estimated.
+     */
+    private final int[] factLevels;
+
+    /**
+     * The level of each operator in the relaxed planning graph of the last state estimated.
+     */
+    private final int[] operatorLevels;
+
+    /**
+     * The number of preconditions of each operator not reached yet.
+     */
+    private final int[] counters;
+
+    /**
+     * The operator supporting each fact in the relaxed plan.
+     */
+    private final int[] supporters;
+
+    /**
+     * The facts of the relaxed planning graph ordered by level, then the subgoals during the extraction.
+     */
+    private final int[] facts;
+
+    /**
+     * The operators ready to be applied at the current level.
+     */
+    private final int[] ready;
+
+    /**
+     * The epoch at which each fact was marked as achieved in the relaxed plan.
+     */
+    private final int[] factMarks;
+
+    /**
+     * The epoch at which each action was marked as used in the relaxed plan or as helpful.
+     */
+    private final int[] actionMarks;
+
+    /**
+     * The epoch used to mark the facts and actions without clearing the marks.
+     */
+    private int epoch;
+
+    /**
+     * The helpful actions of the last state estimated.
+     */
+    private final int[] helpful;
+
+    /**
+     * The number of helpful actions of the last state estimated.
+     */
+    private int numberOfHelpful;
+
+    /**
+     * The number of states estimated by this instance.
+     */
+    private long numberOfEstimates;
+
+    /**
+     * Creates a new FF heuristic for a problem.
+     *
+     * @param problem the problem.
+     */
+    public RelaxedPlanHeuristic(final Problem problem) {
+        final List<Action> actions = problem.getActions();
+        this.numberOfFacts = problem.getFluents().size();
+        this.numberOfActions = actions.size();
+
+        // We count the operators, their preconditions and their effects.
+        int numberOfOperators = 0;
+        int numberOfPreconditions = 0;
+        int numberOfEffects = 0;
+        for (Action a : actions) {
+            for (ConditionalEffect ce : a.getConditionalEffects()) {
+                final int added = ce.getEffect().getPositiveFluents().cardinality();
+                if (added > 0) {
+                    numberOfOperators++;
+                    numberOfPreconditions += RelaxedPlanHeuristic.precondition(a, ce).cardinality();
+                    numberOfEffects += added;
+                }
+            }
+        }
+
+        // We store the operators in compressed arrays.
+        this.operatorActions = new int[numberOfOperators];
+        this.preconditionStarts = new int[numberOfOperators + 1];
+        this.preconditions = new int[numberOfPreconditions];
+        this.effectStarts = new int[numberOfOperators + 1];
+        this.effects = new int[numberOfEffects];
+        final int[] consumerCounts = new int[this.numberOfFacts + 1];
+        final int[] producerCounts = new int[this.numberOfFacts + 1];
+        int op = 0;
+        for (int i = 0; i < actions.size(); i++) {
+            final Action a = actions.get(i);
+            for (ConditionalEffect ce : a.getConditionalEffects()) {
+                final BitVector added = ce.getEffect().getPositiveFluents();
+                if (added.cardinality() > 0) {
+                    this.operatorActions[op] = i;
+                    int p = this.preconditionStarts[op];
+                    final BitVector precondition = RelaxedPlanHeuristic.precondition(a, ce);
+                    for (int f = precondition.nextSetBit(0); f >= 0; f = precondition.nextSetBit(f + 1)) {
+                        this.preconditions[p++] = f;
+                        consumerCounts[f + 1]++;
+                    }
+                    this.preconditionStarts[op + 1] = p;
+                    int e = this.effectStarts[op];
+                    for (int f = added.nextSetBit(0); f >= 0; f = added.nextSetBit(f + 1)) {
+                        this.effects[e++] = f;
+                        producerCounts[f + 1]++;
+                    }
+                    this.effectStarts[op + 1] = e;
+                    op++;
+                }
+            }
+        }
+
+        // We index the operators by the facts of their preconditions and effects.
+        for (int f = 0; f < this.numberOfFacts; f++) {
+            consumerCounts[f + 1] += consumerCounts[f];
+            producerCounts[f + 1] += producerCounts[f];
+        }
+        this.consumerStarts = consumerCounts.clone();
+        this.producerStarts = producerCounts.clone();
+        this.consumers = new int[numberOfPreconditions];
+        this.producers = new int[numberOfEffects];
+        for (int o = 0; o < numberOfOperators; o++) {
+            for (int p = this.preconditionStarts[o]; p < this.preconditionStarts[o + 1]; p++) {
+                this.consumers[consumerCounts[this.preconditions[p]]++] = o;
+            }
+            for (int e = this.effectStarts[o]; e < this.effectStarts[o + 1]; e++) {
+                this.producers[producerCounts[this.effects[e]]++] = o;
+            }
+        }
+
+        this.factLevels = new int[this.numberOfFacts];
+        this.operatorLevels = new int[numberOfOperators];
+        this.counters = new int[numberOfOperators];
+        this.supporters = new int[this.numberOfFacts];
+        this.facts = new int[this.numberOfFacts];
+        this.ready = new int[numberOfOperators];
+        this.factMarks = new int[this.numberOfFacts];
+        this.actionMarks = new int[this.numberOfActions];
+        this.helpful = new int[this.numberOfActions];
+    }
+
+    /**
+     * Creates a new FF heuristic sharing the operators of another one.
+     *
+     * @param other the other heuristic.
+     */
+    public RelaxedPlanHeuristic(final RelaxedPlanHeuristic other) {
+        this.numberOfFacts = other.numberOfFacts;
+        this.numberOfActions = other.numberOfActions;
+        this.operatorActions = other.operatorActions;
+        this.preconditionStarts = other.preconditionStarts;
+        this.preconditions = other.preconditions;
+        this.effectStarts = other.effectStarts;
+        this.effects = other.effects;
+        this.consumerStarts = other.consumerStarts;
+        this.consumers = other.consumers;
+        this.producerStarts = other.producerStarts;
+        this.producers = other.producers;
+        this.factLevels = new int[this.numberOfFacts];
+        this.operatorLevels = new int[other.operatorLevels.length];
+        this.counters = new int[other.counters.length];
+        this.supporters = new int[this.numberOfFacts];
+        this.facts = new int[this.numberOfFacts];
+        this.ready = new int[other.ready.length];
+        this.factMarks = new int[this.numberOfFacts];
+        this.actionMarks = new int[this.numberOfActions];
+        this.helpful = new int[this.numberOfActions];
+    }
+
+    /**
+     * Returns the relaxed precondition of a conditional effect of an action.
+     *
+     * @param action the action.
+     * @param effect the conditional effect.
+     * @return the positive preconditions of the action and the positive facts of the condition of the effect.
+     */
+    private static BitVector precondition(final Action action, final ConditionalEffect effect) {
+        final BitVector precondition = new BitVector(action.getPrecondition().getPositiveFluents());
+        precondition.or(effect.getCondition().getPositiveFluents());
+        return precondition;
+    }
+
+    /**
+     * Returns the number of helpful actions of the last state estimated.
+     *
+     * @return the number of helpful actions.
+     */
+    public int getNumberOfHelpfulActions() {
+        return this.numberOfHelpful;
+    }
+
+    /**
+     * Returns a helpful action of the last state estimated.
+     *
+     * @param index the index of the helpful action, between 0 and the number of helpful actions.
+     * @return the index of the helpful action in the actions of the problem.
+     */
+    public int getHelpfulAction(final int index) {
+        return this.helpful[index];
+    }
+
+    /**
+     * Returns the number of states estimated by this instance. A caller can compare this number before and after a
+     * call to know whether the helpful actions were computed for the state it gave.
+     *
+     * @return the number of states estimated.
+     */
+    public long getNumberOfEstimates() {
+        return this.numberOfEstimates;
+    }
+
+    /**
+     * Returns the number of actions of the relaxed plan of a state.
+     *
+     * @param state the state.
+     * @param goal  the goal.
+     * @return the number of actions of the relaxed plan or <code>Integer.MAX_VALUE</code> if the goal is not reachable
+     *     in the relaxed problem.
+     */
+    @Override
+    public int estimate(final State state, final Condition goal) {
+        this.numberOfEstimates++;
+        this.numberOfHelpful = 0;
+        final BitVector goals = goal.getPositiveFluents();
+
+        // We expand the relaxed planning graph until all the goals are reached.
+        Arrays.fill(this.factLevels, RelaxedPlanHeuristic.UNREACHED);
+        Arrays.fill(this.operatorLevels, RelaxedPlanHeuristic.UNREACHED);
+        int numberOfFacts = 0;
+        int unreached = 0;
+        for (int f = state.nextSetBit(0); f >= 0 && f < this.numberOfFacts; f = state.nextSetBit(f + 1)) {
+            this.factLevels[f] = 0;
+            this.facts[numberOfFacts++] = f;
+        }
+        for (int g = goals.nextSetBit(0); g >= 0; g = goals.nextSetBit(g + 1)) {
+            if (g >= this.numberOfFacts || this.factLevels[g] != 0) {
+                unreached++;
+            }
+        }
+        if (unreached == 0) {
+            return 0;
+        }
+        int numberOfReady = 0;
+        for (int o = 0; o < this.counters.length; o++) {
+            this.counters[o] = this.preconditionStarts[o + 1] - this.preconditionStarts[o];
+            if (this.counters[o] == 0) {
+                this.ready[numberOfReady++] = o;
+            }
+        }
+        int level = 0;
+        int first = 0;
+        while (unreached > 0) {
+            // We find the operators whose last precondition is reached at this level.
+            final int last = numberOfFacts;
+            for (int i = first; i < last; i++) {
+                final int f = this.facts[i];
+                for (int c = this.consumerStarts[f]; c < this.consumerStarts[f + 1]; c++) {
+                    if (--this.counters[this.consumers[c]] == 0) {
+                        this.ready[numberOfReady++] = this.consumers[c];
+                    }
+                }
+            }
+            // We apply them to reach the facts of the next level.
+            for (int r = 0; r < numberOfReady; r++) {
+                final int o = this.ready[r];
+                this.operatorLevels[o] = level;
+                for (int e = this.effectStarts[o]; e < this.effectStarts[o + 1]; e++) {
+                    final int f = this.effects[e];
+                    if (this.factLevels[f] == RelaxedPlanHeuristic.UNREACHED) {
+                        this.factLevels[f] = level + 1;
+                        this.supporters[f] = o;
+                        this.facts[numberOfFacts++] = f;
+                        if (goals.get(f)) {
+                            unreached--;
+                        }
+                    }
+                }
+            }
+            numberOfReady = 0;
+            if (numberOfFacts == last) {
+                return Integer.MAX_VALUE;
+            }
+            first = last;
+            level++;
+        }
+
+        // We extract the relaxed plan backward from the goals, the facts array being reused as a stack of subgoals.
+        this.epoch++;
+        int top = 0;
+        for (int g = goals.nextSetBit(0); g >= 0; g = goals.nextSetBit(g + 1)) {
+            if (this.factLevels[g] > 0 && this.factMarks[g] != this.epoch) {
+                this.factMarks[g] = this.epoch;
+                this.facts[top++] = g;
+            }
+        }
+        int value = 0;
+        int numberOfSubgoals = 0;
+        while (top > numberOfSubgoals) {
+            final int f = this.facts[--top];
+            final int o = this.supporters[f];
+            if (this.factLevels[f] == 1) {
+                // We keep the subgoals of the first level at the bottom of the stack to find the helpful actions.
+                this.facts[top] = this.facts[numberOfSubgoals];
+                this.facts[numberOfSubgoals++] = f;
+                top++;
+            }
+            if (this.actionMarks[this.operatorActions[o]] != this.epoch) {
+                this.actionMarks[this.operatorActions[o]] = this.epoch;
+                value++;
+            }
+            for (int p = this.preconditionStarts[o]; p < this.preconditionStarts[o + 1]; p++) {
+                final int q = this.preconditions[p];
+                if (this.factLevels[q] > 0 && this.factMarks[q] != this.epoch) {
+                    this.factMarks[q] = this.epoch;
+                    this.facts[top++] = q;
+                }
+            }
+        }
+
+        // The helpful actions are the actions of the first level adding a subgoal of the first level.
+        this.epoch++;
+        for (int i = 0; i < numberOfSubgoals; i++) {
+            final int f = this.facts[i];
+            for (int p = this.producerStarts[f]; p < this.producerStarts[f + 1]; p++) {
+                final int o = this.producers[p];
+                final int a = this.operatorActions[o];
+                if (this.operatorLevels[o] == 0 && this.actionMarks[a] != this.epoch) {
+                    this.actionMarks[a] = this.epoch;
+                    this.helpful[this.numberOfHelpful++] = a;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns the number of actions of the relaxed plan of a node.
+     *
+     * @param node the node.
+     * @param goal the goal.
+     * @return the number of actions of the relaxed plan.
+     */
+    @Override
+    public double estimate(final Node node, final Condition goal) {
+        return this.estimate((State) node, goal);
+    }
+
+    /**
+     * Returns <code>false</code>, the FF heuristic is not admissible.
+     *
+     * @return <code>false</code>.
+     */
+    @Override
+    public boolean isAdmissible() {
+        return false;
+    }
+}
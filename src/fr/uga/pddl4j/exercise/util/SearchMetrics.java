@@ -0,0 +1,469 @@
+package fr.uga.pddl4j.exercise.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * This class implements the counters of a search updated by the threads of a planner and published as an MBean, so
+ * a long search can be watched live in JConsole or any JMX scraper. The counters are striped {@link LongAdder}s: an
+ * update is a plain addition to a cell of the calling thread, and the cells are only summed when an attribute is read.
+ *
+ * <p>The sizes of the open and closed lists are not counted but read from the search through suppliers when the
+ * attributes are read, so they cost nothing to the search. The suppliers read the sizes without synchronization, so
+ * the values published are approximate while the search runs. The sizes are frozen when the search ends, so the
+ * metrics do not keep the lists in the heap.</p>
+ *
+ * <p>The metrics of a planner are registered under the name
+ * <code>fr.uga.pddl4j.exercise:type=SearchMetrics,planner=&lt;planner&gt;</code>, and the metrics of a new search
+ * replace the metrics of the previous search of a planner with the same name. The metrics stay registered after the
+ * search, so their final values can still be read.</p>
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public final class SearchMetrics implements SearchMetricsMBean {
+
+    /**
+     * The JMX domain of the metrics.
+     */
+    public static final String DOMAIN = "fr.uga.pddl4j.exercise";
+
+    /**
+     * The name of the planner whose search is measured.
+     */
+    private final String planner;
+
+    /**
+     * The time at which the search began in ns.
+     */
+    private final long begin;
+
+    /**
+     * The number of nodes generated.
+     */
+    private final LongAdder generated;
+
+    /**
+     * The number of nodes expanded.
+     */
+    private final LongAdder expanded;
+
+    /**
+     * The number of heuristic evaluations.
+     */
+    private final LongAdder evaluations;
+
+    /**
+     * The number of random walks completed.
+     */
+    private final LongAdder walks;
+
+    /**
+     * The number of restarts from the root.
+     */
+    private final LongAdder restarts;
+
+    /**
+     * The number of dead ends met.
+     */
+    private final LongAdder deadEnds;
+
+    /**
+     * The number of scans of the applicable actions.
+     */
+    private final LongAdder scans;
+
+    /**
+     * The number of scans of the applicable actions timed.
+     */
+    private final LongAdder timedScans;
+
+    /**
+     * The time of the scans timed in ns.
+     */
+    private final LongAdder scanTime;
+
+    /**
+     * The lowest finite heuristic value computed.
+     */
+    private volatile int bestHeuristic;
+
+    /**
+     * The time at which the lowest heuristic value was computed in ms since the beginning of the search.
+     */
+    private volatile long bestHeuristicTime;
+
+    /**
+     * The supplier of the number of nodes in the open lists or null.
+     */
+    private volatile LongSupplier openSize;
+
+    /**
+     * The supplier of the number of states in the closed lists or null.
+     */
+    private volatile LongSupplier closedSize;
+
+    /**
+     * The memory used by the lists of the search in bytes.
+     */
+    private volatile long memoryUsed;
+
+    /**
+     * Creates new metrics starting now, not registered as an MBean.
+     *
+     * @param planner the name of the planner whose search is measured.
+     */
+    public SearchMetrics(final String planner) {
+        this.planner = planner;
+        this.begin = System.nanoTime();
+        this.generated = new LongAdder();
+        this.expanded = new LongAdder();
+        this.evaluations = new LongAdder();
+        this.walks = new LongAdder();
+        this.restarts = new LongAdder();
+        this.deadEnds = new LongAdder();
+        this.scans = new LongAdder();
+        this.timedScans = new LongAdder();
+        this.scanTime = new LongAdder();
+        this.bestHeuristic = Integer.MAX_VALUE;
+        this.bestHeuristicTime = -1L;
+    }
+
+    /**
+     * Registers these metrics on the platform MBean server, replacing the metrics of the previous search of the same
+     * planner.
+     *
+     * @throws JMException if the metrics cannot be registered.
+     */
+    public void register() throws JMException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName(SearchMetrics.DOMAIN + ":type=SearchMetrics,planner="
+            + ObjectName.quote(this.planner));
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+        server.registerMBean(this, name);
+    }
+
+    /**
+     * Counts a node expanded.
+     */
+    public void expanded() {
+        this.expanded.increment();
+    }
+
+    /**
+     * Counts nodes generated.
+     *
+     * @param count the number of nodes generated.
+     */
+    public void generated(final long count) {
+        this.generated.add(count);
+    }
+
+    /**
+     * Counts a heuristic evaluation. An infinite value counts a dead end, and a finite value lower than all the
+     * values computed before is recorded with its time.
+     *
+     * @param h the heuristic value computed.
+     */
+    public void evaluated(final int h) {
+        this.evaluations.increment();
+        if (h == Integer.MAX_VALUE) {
+            this.deadEnds.increment();
+        } else if (h < this.bestHeuristic) {
+            this.improve(h);
+        }
+    }
+
+    /**
+     * Counts a random walk completed and its steps as nodes generated.
+     *
+     * @param steps the number of steps of the walk.
+     */
+    public void walked(final long steps) {
+        this.walks.increment();
+        this.generated.add(steps);
+    }
+
+    /**
+     * Counts a restart from the root.
+     */
+    public void restarted() {
+        this.restarts.increment();
+    }
+
+    /**
+     * Counts a dead end that was not detected by the heuristic.
+     */
+    public void deadEnd() {
+        this.deadEnds.increment();
+    }
+
+    /**
+     * Counts scans of the applicable actions, of which some were timed.
+     *
+     * @param count the number of scans.
+     * @param timed the number of scans timed among them.
+     * @param time  the time of the scans timed in ns.
+     */
+    public void scanned(final long count, final long timed, final long time) {
+        this.scans.add(count);
+        if (timed > 0) {
+            this.timedScans.add(timed);
+            this.scanTime.add(time);
+        }
+    }
+
+    /**
+     * Sets the suppliers of the sizes of the lists of the search, called when the attributes are read.
+     *
+     * @param open   the supplier of the number of nodes in the open lists or null if the search has no open list.
+     * @param closed the supplier of the number of states recorded or null if the search records no state.
+     */
+    public void setSizes(final LongSupplier open, final LongSupplier closed) {
+        this.openSize = open;
+        this.closedSize = closed;
+    }
+
+    /**
+     * Replaces the suppliers of the sizes of the lists by their current values, so the metrics no longer hold the
+     * lists of a search that ended.
+     */
+    public void freezeSizes() {
+        final long open = this.getOpenSize();
+        final long closed = this.getClosedSize();
+        this.setSizes((open < 0L) ? null : () -> open, (closed < 0L) ? null : () -> closed);
+    }
+
+    /**
+     * Sets the memory used by the lists of the search.
+     *
+     * @param bytes the memory used by the lists of the search in bytes.
+     */
+    public void setMemoryUsed(final long bytes) {
+        this.memoryUsed = bytes;
+    }
+
+    /**
+     * Returns the name of the planner whose search is measured.
+     *
+     * @return the name of the planner.
+     */
+    @Override
+    public String getPlanner() {
+        return this.planner;
+    }
+
+    /**
+     * Returns the time elapsed since the beginning of the search in ms.
+     *
+     * @return the time elapsed since the beginning of the search in ms.
+     */
+    @Override
+    public long getElapsedTime() {
+        return (System.nanoTime() - this.begin) / 1_000_000L;
+    }
+
+    /**
+     * Returns the number of nodes generated, i.e., the successors built by the expansions and the steps of the walks.
+     *
+     * @return the number of nodes generated.
+     */
+    @Override
+    public long getNodesGenerated() {
+        return this.generated.sum();
+    }
+
+    /**
+     * Returns the number of nodes expanded. The jumps of the MCTS planner and the nodes added to the tree of the UCT
+     * search are counted as expansions.
+     *
+     * @return the number of nodes expanded.
+     */
+    @Override
+    public long getNodesExpanded() {
+        return this.expanded.sum();
+    }
+
+    /**
+     * Returns the number of heuristic evaluations, the values found in a cache included.
+     *
+     * @return the number of heuristic evaluations.
+     */
+    @Override
+    public long getHeuristicEvaluations() {
+        return this.evaluations.sum();
+    }
+
+    /**
+     * Returns the mean number of heuristic evaluations per second since the beginning of the search.
+     *
+     * @return the mean number of heuristic evaluations per second.
+     */
+    @Override
+    public double getHeuristicEvaluationsPerSecond() {
+        return this.perSecond(this.evaluations.sum());
+    }
+
+    /**
+     * Returns the number of random walks completed.
+     *
+     * @return the number of random walks completed.
+     */
+    @Override
+    public long getWalks() {
+        return this.walks.sum();
+    }
+
+    /**
+     * Returns the mean number of random walks per second since the beginning of the search.
+     *
+     * @return the mean number of random walks per second.
+     */
+    @Override
+    public double getWalksPerSecond() {
+        return this.perSecond(this.walks.sum());
+    }
+
+    /**
+     * Returns the number of restarts of the search from the root.
+     *
+     * @return the number of restarts of the search from the root.
+     */
+    @Override
+    public long getRestarts() {
+        return this.restarts.sum();
+    }
+
+    /**
+     * Returns the number of dead ends met, i.e., the states with an infinite heuristic value and the states of the
+     * walks with no applicable action.
+     *
+     * @return the number of dead ends met.
+     */
+    @Override
+    public long getDeadEnds() {
+        return this.deadEnds.sum();
+    }
+
+    /**
+     * Returns the lowest finite heuristic value computed since the beginning of the search.
+     *
+     * @return the lowest heuristic value or -1 if no finite heuristic value was computed.
+     */
+    @Override
+    public int getBestHeuristic() {
+        final int best = this.bestHeuristic;
+        return (best == Integer.MAX_VALUE) ? -1 : best;
+    }
+
+    /**
+     * Returns the time at which the lowest heuristic value was computed, so the progress of the search can be read
+     * over time.
+     *
+     * @return the time at which the lowest heuristic value was computed in ms since the beginning of the search, or
+     *     -1 if no finite heuristic value was computed.
+     */
+    @Override
+    public long getBestHeuristicTime() {
+        return this.bestHeuristicTime;
+    }
+
+    /**
+     * Returns the current number of nodes in the open lists of the search.
+     *
+     * @return the number of nodes in the open lists or -1 if the search has no open list.
+     */
+    @Override
+    public long getOpenSize() {
+        final LongSupplier open = this.openSize;
+        return (open == null) ? -1L : open.getAsLong();
+    }
+
+    /**
+     * Returns the current number of states in the closed lists, the transposition tables or the bitstate set of the
+     * search.
+     *
+     * @return the number of states recorded or -1 if the search records no state.
+     */
+    @Override
+    public long getClosedSize() {
+        final LongSupplier closed = this.closedSize;
+        return (closed == null) ? -1L : closed.getAsLong();
+    }
+
+    /**
+     * Returns the number of scans of the applicable actions, by a successor generator or an applicability tracker.
+     *
+     * @return the number of scans of the applicable actions.
+     */
+    @Override
+    public long getApplicableScans() {
+        return this.scans.sum();
+    }
+
+    /**
+     * Returns the mean time of a scan of the applicable actions, measured on the scans timed.
+     *
+     * @return the mean time of a scan of the applicable actions in ns or 0 if no scan was timed.
+     */
+    @Override
+    public double getApplicableScanTime() {
+        final long timed = this.timedScans.sum();
+        return (timed == 0L) ? 0.0 : (double) this.scanTime.sum() / timed;
+    }
+
+    /**
+     * Returns the memory used by the lists of the search, set when the search ends.
+     *
+     * @return the memory used by the lists of the search in bytes.
+     */
+    @Override
+    public long getMemoryUsed() {
+        return this.memoryUsed;
+    }
+
+    /**
+     * Returns a string representation of these metrics.
+     *
+     * @return a string representation of these metrics.
+     */
+    @Override
+    public String toString() {
+        return String.format("generated=%d, expanded=%d, evaluations=%d (%.0f/s), walks=%d (%.0f/s), restarts=%d, "
+                + "dead ends=%d, best h=%d at %d ms, scans=%d (%.0f ns)", this.getNodesGenerated(),
+            this.getNodesExpanded(), this.getHeuristicEvaluations(), this.getHeuristicEvaluationsPerSecond(),
+            this.getWalks(), this.getWalksPerSecond(), this.getRestarts(), this.getDeadEnds(),
+            this.getBestHeuristic(), this.getBestHeuristicTime(), this.getApplicableScans(),
+            this.getApplicableScanTime());
+    }
+
+    /**
+     * Records a new lowest heuristic value with its time, unless a lower value was recorded in the meantime.
+     *
+     * @param h the heuristic value.
+     */
+    private synchronized void improve(final int h) {
+        if (h < this.bestHeuristic) {
+            // We write the time first, so a reader seeing the new value sees its time
+            this.bestHeuristicTime = this.getElapsedTime();
+            this.bestHeuristic = h;
+        }
+    }
+
+    /**
+     * Returns the mean rate of a counter since the beginning of the search.
+     *
+     * @param count the value of the counter.
+     * @return the mean number of events per second.
+     */
+    private double perSecond(final long count) {
+        final long elapsed = System.nanoTime() - this.begin;
+        return (elapsed <= 0L) ? 0.0 : count * 1e9 / elapsed;
+    }
+}
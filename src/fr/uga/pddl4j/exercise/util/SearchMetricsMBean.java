@@ -0,0 +1,135 @@
+package fr.uga.pddl4j.exercise.util;
+
+/**
+ * This interface defines the management interface of the {@link SearchMetrics} of a planner, i.e., the attributes
+ * published through JMX and read by JConsole or any JMX scraper while a search runs.
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public interface SearchMetricsMBean {
+
+    /**
+     * Returns the name of the planner whose search is measured.
+     *
+     * @return the name of the planner.
+     */
+    String getPlanner();
+
+    /**
+     * Returns the time elapsed since the beginning of the search in ms.
+     *
+     * @return the time elapsed since the beginning of the search in ms.
+     */
+    long getElapsedTime();
+
+    /**
+     * Returns the number of nodes generated, i.e., the successors built by the expansions and the steps of the walks.
+     *
+     * @return the number of nodes generated.
+     */
+    long getNodesGenerated();
+
+    /**
+     * Returns the number of nodes expanded. The jumps of the MCTS planner and the nodes added to the tree of the UCT
+     * search are counted as expansions.
+     *
+     * @return the number of nodes expanded.
+     */
+    long getNodesExpanded();
+
+    /**
+     * Returns the number of heuristic evaluations, the values found in a cache included.
+     *
+     * @return the number of heuristic evaluations.
+     */
+    long getHeuristicEvaluations();
+
+    /**
+     * Returns the mean number of heuristic evaluations per second since the beginning of the search.
+     *
+     * @return the mean number of heuristic evaluations per second.
+     */
+    double getHeuristicEvaluationsPerSecond();
+
+    /**
+     * Returns the number of random walks completed.
+     *
+     * @return the number of random walks completed.
+     */
+    long getWalks();
+
+    /**
+     * Returns the mean number of random walks per second since the beginning of the search.
+     *
+     * @return the mean number of random walks per second.
+     */
+    double getWalksPerSecond();
+
+    /**
+     * Returns the number of restarts of the search from the root.
+     *
+     * @return the number of restarts of the search from the root.
+     */
+    long getRestarts();
+
+    /**
+     * Returns the number of dead ends met, i.e., the states with an infinite heuristic value and the states of the
+     * walks with no applicable action.
+     *
+     * @return the number of dead ends met.
+     */
+    long getDeadEnds();
+
+    /**
+     * Returns the lowest finite heuristic value computed since the beginning of the search.
+     *
+     * @return the lowest heuristic value or -1 if no finite heuristic value was computed.
+     */
+    int getBestHeuristic();
+
+    /**
+     * Returns the time at which the lowest heuristic value was computed, so the progress of the search can be read
+     * over time.
+     *
+     * @return the time at which the lowest heuristic value was computed in ms since the beginning of the search, or
+     *     -1 if no finite heuristic value was computed.
+     */
+    long getBestHeuristicTime();
+
+    /**
+     * Returns the current number of nodes in the open lists of the search.
+     *
+     * @return the number of nodes in the open lists or -1 if the search has no open list.
+     */
+    long getOpenSize();
+
+    /**
+     * Returns the current number of states in the closed lists, the transposition tables or the bitstate set of the
+     * search.
+     *
+     * @return the number of states recorded or -1 if the search records no state.
+     */
+    long getClosedSize();
+
+    /**
+     * Returns the number of scans of the applicable actions, by a successor generator or an applicability tracker.
+     *
+     * @return the number of scans of the applicable actions.
+     */
+    long getApplicableScans();
+
+    /**
+     * Returns the mean time of a scan of the applicable actions, measured on the scans timed.
+     *
+     * @return the mean time of a scan of the applicable actions in ns or 0 if no scan was timed.
+     */
+    double getApplicableScanTime();
+
+    /**
+     * Returns the memory used by the lists of the search, set when the search ends.
+     *
+     * @return the memory used by the lists of the search in bytes.
+     */
+    long getMemoryUsed();
+}
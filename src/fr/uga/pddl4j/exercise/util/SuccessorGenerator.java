@@ -0,0 +1,274 @@
+package fr.uga.pddl4j.exercise.util;
+
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.util.BitVector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class implements a successor generator in the style of Fast Downward. The generator is a decision tree over
+ * the positive precondition facts of the actions built once per problem. Each inner node tests one fact and has a
+ * child for the actions requiring the fact and a child for the actions that do not care about it. The actions whose
+ * positive preconditions are all tested on the path to a node are stored in the node. Looking for the applicable
+ * actions of a state only visits the branches of the facts true in the state, so its cost is proportional to the
+ * number of applicable actions rather than to the number of actions of the problem.
+ *
+ * <p>The actions with negative or numeric preconditions are checked with <code>Action.isApplicable</code> once they
+ * are reached in the tree.</p>
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public final class SuccessorGenerator {
+
+    /**
+     * The actions of the problem.
+     */
+    private final List<Action> actions;
+
+    /**
+     * The fact tested by each node or -1 if the node has no child.
+     */
+    private int[] facts;
+
+    /**
+     * The child of each node for the actions requiring the fact tested or -1 if there is none.
+     */
+    private int[] trueChildren;
+
+    /**
+     * The child of each node for the actions that do not care about the fact tested or -1 if there is none.
+     */
+    private int[] dontCareChildren;
+
+    /**
+     * The index in <code>immediates</code> of the first action stored in each node.
+     */
+    private int[] immediateStarts;
+
+    /**
+     * The index in <code>immediates</code> following the last action stored in each node.
+     */
+    private int[] immediateEnds;
+
+    /**
+     * The actions stored in the nodes, grouped by node.
+     */
+    private final int[] immediates;
+
+    /**
+     * The number of actions stored in <code>immediates</code>.
+     */
+    private int numberOfImmediates;
+
+    /**
+     * The number of nodes of the tree.
+     */
+    private int numberOfNodes;
+
+    /**
+     * The actions that must be checked with <code>Action.isApplicable</code> when they are reached.
+     */
+    private final boolean[] checked;
+
+    /**
+     * The positive precondition facts of each action sorted in increasing order.
+     */
+    private final int[][] preconditions;
+
+    /**
+     * The number of precondition facts of each action already tested during the construction of the tree.
+     */
+    private final int[] tested;
+
+    /**
+     * Creates a new successor generator for a list of actions.
+     *
+     * @param actions the actions of the problem.
+     */
+    public SuccessorGenerator(final List<Action> actions) {
+        this.actions = actions;
+        this.immediates = new int[actions.size()];
+        this.checked = new boolean[actions.size()];
+        this.preconditions = new int[actions.size()][];
+        this.tested = new int[actions.size()];
+        this.facts = new int[16];
+        this.trueChildren = new int[16];
+        this.dontCareChildren = new int[16];
+        this.immediateStarts = new int[16];
+        this.immediateEnds = new int[16];
+        final int[] all = new int[actions.size()];
+        for (int i = 0; i < actions.size(); i++) {
+            final Condition precondition = actions.get(i).getPrecondition();
+            this.preconditions[i] = SuccessorGenerator.toArray(precondition.getPositiveFluents());
+            this.checked[i] = !precondition.getNegativeFluents().isEmpty()
+                || !precondition.getNumericConstraints().isEmpty();
+            all[i] = i;
+        }
+        this.build(all, all.length);
+    }
+
+    /**
+     * Returns the facts of a bit vector as a sorted array.
+     *
+     * @param vector the bit vector.
+     * @return the facts of the bit vector.
+     */
+    private static int[] toArray(final BitVector vector) {
+        final int[] result = new int[vector.cardinality()];
+        int index = 0;
+        for (int p = vector.nextSetBit(0); p >= 0; p = vector.nextSetBit(p + 1)) {
+            result[index++] = p;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of actions of the generator.
+     *
+     * @return the number of actions of the generator.
+     */
+    public int size() {
+        return this.immediates.length;
+    }
+
+    /**
+     * Builds the subtree of a set of actions and returns its root. The subtree of the actions requiring the smallest
+     * fact not yet tested is built recursively, whereas the chain of the actions that do not care about this fact is
+     * built iteratively, so the depth of the recursion is bounded by the size of the largest precondition.
+     *
+     * @param subset the actions of the subtree. The array is reused to store the actions of the children.
+     * @param size   the number of actions of the subtree.
+     * @return the root of the subtree.
+     */
+    private int build(int[] subset, int size) {
+        final int root = this.newNode();
+        int node = root;
+        while (true) {
+            // Store the actions whose preconditions are all tested in the node.
+            this.immediateStarts[node] = this.numberOfImmediates;
+            int remaining = 0;
+            int fact = Integer.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                final int a = subset[i];
+                if (this.tested[a] == this.preconditions[a].length) {
+                    this.immediates[this.numberOfImmediates++] = a;
+                } else {
+                    subset[remaining++] = a;
+                    fact = Math.min(fact, this.preconditions[a][this.tested[a]]);
+                }
+            }
+            this.immediateEnds[node] = this.numberOfImmediates;
+            if (remaining == 0) {
+                return root;
+            }
+
+            // Split the remaining actions on the smallest fact not yet tested.
+            final int[] requiring = new int[remaining];
+            int numberRequiring = 0;
+            int numberDontCare = 0;
+            for (int i = 0; i < remaining; i++) {
+                final int a = subset[i];
+                if (this.preconditions[a][this.tested[a]] == fact) {
+                    this.tested[a]++;
+                    requiring[numberRequiring++] = a;
+                } else {
+                    subset[numberDontCare++] = a;
+                }
+            }
+            // The child must be built before the arrays are dereferenced since building it may grow them.
+            final int child = this.build(requiring, numberRequiring);
+            this.facts[node] = fact;
+            this.trueChildren[node] = child;
+            if (numberDontCare == 0) {
+                return root;
+            }
+            final int next = this.newNode();
+            this.dontCareChildren[node] = next;
+            node = next;
+            size = numberDontCare;
+        }
+    }
+
+    /**
+     * Creates a new node without child and returns its index.
+     *
+     * @return the index of the new node.
+     */
+    private int newNode() {
+        if (this.numberOfNodes == this.facts.length) {
+            final int capacity = this.facts.length * 2;
+            this.facts = Arrays.copyOf(this.facts, capacity);
+            this.trueChildren = Arrays.copyOf(this.trueChildren, capacity);
+            this.dontCareChildren = Arrays.copyOf(this.dontCareChildren, capacity);
+            this.immediateStarts = Arrays.copyOf(this.immediateStarts, capacity);
+            this.immediateEnds = Arrays.copyOf(this.immediateEnds, capacity);
+        }
+        final int node = this.numberOfNodes++;
+        this.facts[node] = -1;
+        this.trueChildren[node] = -1;
+        this.dontCareChildren[node] = -1;
+        return node;
+    }
+
+    /**
+     * Computes the actions applicable in a state. The array receiving the actions must be able to store all the
+     * actions of the generator.
+     *
+     * @param state  the state.
+     * @param result the array receiving the indexes of the applicable actions.
+     * @return the number of applicable actions stored in <code>result</code>.
+     */
+    public int applicableActions(final State state, final int[] result) {
+        return this.collect(0, state, result, 0);
+    }
+
+    /**
+     * Computes the actions applicable in a state.
+     *
+     * @param state the state.
+     * @return the list of the indexes of the applicable actions.
+     */
+    public List<Integer> applicableActions(final State state) {
+        final int[] result = new int[this.size()];
+        final int size = this.applicableActions(state, result);
+        final List<Integer> list = new ArrayList<Integer>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(result[i]);
+        }
+        return list;
+    }
+
+    /**
+     * Collects the applicable actions stored in a subtree.
+     *
+     * @param node   the root of the subtree.
+     * @param state  the state.
+     * @param result the array receiving the indexes of the applicable actions.
+     * @param size   the number of actions already stored in <code>result</code>.
+     * @return the number of actions stored in <code>result</code>.
+     */
+    private int collect(int node, final State state, final int[] result, int size) {
+        while (node != -1) {
+            for (int i = this.immediateStarts[node]; i < this.immediateEnds[node]; i++) {
+                final int a = this.immediates[i];
+                if (!this.checked[a] || this.actions.get(a).isApplicable(state)) {
+                    result[size++] = a;
+                }
+            }
+            final int fact = this.facts[node];
+            if (fact == -1) {
+                break;
+            }
+            if (state.get(fact)) {
+                size = this.collect(this.trueChildren[node], state, result, size);
+            }
+            node = this.dontCareChildren[node];
+        }
+        return size;
+    }
+}
@@ -0,0 +1,192 @@
+package fr.uga.pddl4j.exercise.util;
+
+import java.util.Arrays;
+
+/**
+ * This class implements a bounded transposition table keyed by the 64 bits hash of a state. It stores for each state
+ * the best known cost to reach it and its heuristic value. The table uses open addressing over primitive arrays with
+ * a bounded linear probing: when all the probed slots are taken, the entry with the highest cost is replaced, so the
+ * table never grows beyond its capacity.
+ *
+ * <p>A table is not thread-safe, each thread should use its own table.</p>
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public final class TranspositionTable {
+
+    /**
+     * The value returned when a state is not in the table.
+     */
+    public static final int UNKNOWN = -1;
+
+    /**
+     * The number of slots probed for a key.
+     */
+    private static final int PROBES = 8;
+
+    /**
+     * The key reserved for the empty slots.
+     */
+    private static final long EMPTY = 0L;
+
+    /**
+     * The keys of the slots.
+     */
+    private final long[] keys;
+
+    /**
+     * The best known cost to reach the state of each slot.
+     */
+    private final int[] costs;
+
+    /**
+     * The heuristic value of the state of each slot.
+     */
+    private final int[] heuristics;
+
+    /**
+     * The mask used to compute the home slot of a key.
+     */
+    private final int mask;
+
+    /**
+     * The number of states stored in the table.
+     */
+    private int size;
+
+    /**
+     * Creates a new transposition table. The capacity is rounded up to a power of two.
+     *
+     * @param capacity the maximum number of states of the table.
+     */
+    public TranspositionTable(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity <= 0");
+        }
+        final int slots = Math.max(TranspositionTable.PROBES, Integer.highestOneBit(capacity - 1) << 1);
+        this.keys = new long[slots];
+        this.costs = new int[slots];
+        this.heuristics = new int[slots];
+        this.mask = slots - 1;
+    }
+
+    /**
+     * Returns the number of states stored in the table.
+     *
+     * @return the number of states stored in the table.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the maximum number of states of the table.
+     *
+     * @return the maximum number of states of the table.
+     */
+    public int capacity() {
+        return this.keys.length;
+    }
+
+    /**
+     * Removes all the states of the table.
+     */
+    public void clear() {
+        Arrays.fill(this.keys, TranspositionTable.EMPTY);
+        this.size = 0;
+    }
+
+    /**
+     * Returns the slot of a state or -1 if the state is not in the table.
+     *
+     * @param hash the hash of the state.
+     * @return the slot of the state or -1.
+     */
+    public int find(final long hash) {
+        final long key = TranspositionTable.key(hash);
+        int slot = this.home(key);
+        for (int i = 0; i < TranspositionTable.PROBES; i++) {
+            if (this.keys[slot] == key) {
+                return slot;
+            } else if (this.keys[slot] == TranspositionTable.EMPTY) {
+                return -1;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the best known cost to reach a state.
+     *
+     * @param hash the hash of the state.
+     * @return the best known cost or <code>UNKNOWN</code> if the state is not in the table.
+     */
+    public int getCost(final long hash) {
+        final int slot = this.find(hash);
+        return (slot == -1) ? TranspositionTable.UNKNOWN : this.costs[slot];
+    }
+
+    /**
+     * Returns the heuristic value of a state.
+     *
+     * @param hash the hash of the state.
+     * @return the heuristic value or <code>UNKNOWN</code> if the state is not in the table.
+     */
+    public int getHeuristic(final long hash) {
+        final int slot = this.find(hash);
+        return (slot == -1) ? TranspositionTable.UNKNOWN : this.heuristics[slot];
+    }
+
+    /**
+     * Stores a state in the table. If the state is already stored, its cost is replaced by the new one only if the
+     * new one is lower.
+     *
+     * @param hash      the hash of the state.
+     * @param cost      the cost to reach the state.
+     * @param heuristic the heuristic value of the state.
+     */
+    public void put(final long hash, final int cost, final int heuristic) {
+        final long key = TranspositionTable.key(hash);
+        int slot = this.home(key);
+        int victim = slot;
+        for (int i = 0; i < TranspositionTable.PROBES; i++) {
+            if (this.keys[slot] == key) {
+                this.costs[slot] = Math.min(this.costs[slot], cost);
+                this.heuristics[slot] = heuristic;
+                return;
+            } else if (this.keys[slot] == TranspositionTable.EMPTY) {
+                victim = slot;
+                this.size++;
+                break;
+            } else if (this.costs[slot] > this.costs[victim]) {
+                victim = slot;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        this.keys[victim] = key;
+        this.costs[victim] = cost;
+        this.heuristics[victim] = heuristic;
+    }
+
+    /**
+     * Returns the key stored for a hash. The hash 0 is remapped since it marks the empty slots.
+     *
+     * @param hash the hash.
+     * @return the key stored for the hash.
+     */
+    private static long key(final long hash) {
+        return (hash == TranspositionTable.EMPTY) ? 1L : hash;
+    }
+
+    /**
+     * Returns the home slot of a key.
+     *
+     * @param key the key.
+     * @return the home slot of the key.
+     */
+    private int home(final long key) {
+        return (int) (key ^ (key >>> 32)) & this.mask;
+    }
+}
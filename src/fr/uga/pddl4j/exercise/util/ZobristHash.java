@@ -0,0 +1,67 @@
+package fr.uga.pddl4j.exercise.util;
+
+import fr.uga.pddl4j.util.BitVector;
+
+import java.util.SplittableRandom;
+
+/**
+ * This class implements a Zobrist hash of the states of a problem. A random key is drawn for each fact and the hash
+ * of a state is the exclusive or of the keys of its true facts. Since setting and clearing a fact both toggle its key,
+ * the hash of a state can be updated incrementally from the facts changed by an action.
+ *
+ * <p>The keys are drawn from a fixed seed so that the hash of a state is the same from one run to another. An
+ * instance is immutable and can be shared by several threads.</p>
+ *
+ * @author W. Nardone
+ * @version 1.0 - 17/10/2026
+ */
+public final class ZobristHash {
+
+    /**
+     * The seed used to draw the keys of the facts.
+     */
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The random key of each fact.
+     */
+    private final long[] keys;
+
+    /**
+     * Creates a new Zobrist hash for a specified number of facts.
+     *
+     * @param numberOfFacts the number of facts of the problem.
+     */
+    public ZobristHash(final int numberOfFacts) {
+        final SplittableRandom random = new SplittableRandom(ZobristHash.SEED);
+        this.keys = new long[numberOfFacts];
+        for (int f = 0; f < numberOfFacts; f++) {
+            this.keys[f] = random.nextLong();
+        }
+    }
+
+    /**
+     * Returns the hash of the true facts of a bit vector.
+     *
+     * @param vector the bit vector, usually a state.
+     * @return the hash of the bit vector.
+     */
+    public long hash(final BitVector vector) {
+        long hash = 0L;
+        for (int f = vector.nextSetBit(0); f >= 0; f = vector.nextSetBit(f + 1)) {
+            hash ^= this.keys[f];
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the hash of a state after the change of a fact.
+     *
+     * @param hash the hash of the state before the change.
+     * @param fact the fact set or cleared.
+     * @return the hash of the state after the change.
+     */
+    public long toggle(final long hash, final int fact) {
+        return hash ^ this.keys[fact];
+    }
+}